@@ -0,0 +1,80 @@
+package elevator;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DispatchBenchmark {
+    @Param({"3", "30", "300"})
+    public int cars;
+
+    @Param({"10", "50", "200"})
+    public int floors;
+
+    private ElevatorController controller;
+    private List<Elevator> elevators;
+    private ElevatorRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        controller = new ElevatorController(cars, 8, scheduler, EventLog.disabled());
+        elevators = controller.getElevators();
+        Random random = new Random(42);
+
+        for (int i = 0; i < cars * 3; i++) {
+            controller.submitCompleteRequest(randomTrip(random));
+        }
+        scheduler.sleep(5_000);
+
+        requests = new ElevatorRequest[1024];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = randomTrip(random);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        controller.shutdown();
+    }
+
+    private ElevatorRequest randomTrip(Random random) {
+        int from = 1 + random.nextInt(floors);
+        int to = 1 + random.nextInt(floors - 1);
+        return new ElevatorRequest(from, to >= from ? to + 1 : to);
+    }
+
+    private ElevatorRequest nextRequest() {
+        return requests[next++ & (requests.length - 1)];
+    }
+
+    @Benchmark
+    public Elevator findBestElevatorForRequest() {
+        return controller.findBestElevatorForRequest(nextRequest());
+    }
+
+    @Benchmark
+    public void calculateElevatorScore(Blackhole blackhole) {
+        ElevatorRequest request = nextRequest();
+        for (Elevator elevator : elevators) {
+            blackhole.consume(controller.calculateElevatorScore(elevator, elevator.getSnapshot(), request));
+        }
+    }
+
+    @Benchmark
+    public void getNextFloor(Blackhole blackhole) {
+        for (Elevator elevator : elevators) {
+            blackhole.consume(elevator.getNextFloor());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package elevator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class IngestBenchmark {
+    private static final int FRAMES = 50;
+    private static final int CALLS_PER_FRAME = 100;
+
+    @State(Scope.Benchmark)
+    public static class Server {
+        @Param({"8"})
+        public int cars;
+
+        @Param({"30"})
+        public int floors;
+
+        private ElevatorController controller;
+        private IngestServer server;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            controller = new ElevatorController(cars, 12, new WallClockScheduler(2), EventLog.disabled());
+            server = new IngestServer(controller, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            server.start();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() {
+            server.close();
+            controller.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+        private Socket socket;
+        private OutputStream out;
+        private DataInputStream in;
+        private byte[] frames;
+
+        @Setup(Level.Iteration)
+        public void setUp(Server server) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), server.server.getAddress().getPort());
+            socket.setTcpNoDelay(true);
+            out = new BufferedOutputStream(socket.getOutputStream(), 1 << 16);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out.write(new byte[]{
+                    (byte) (IngestServer.MAGIC >>> 24), (byte) (IngestServer.MAGIC >>> 16),
+                    (byte) (IngestServer.MAGIC >>> 8), (byte) IngestServer.MAGIC
+            });
+
+            Random random = new Random(42);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            for (int f = 0; f < FRAMES; f++) {
+                body.reset();
+                body.write(IngestServer.CALLS);
+                for (int i = 0; i < CALLS_PER_FRAME; i++) {
+                    int from = 1 + random.nextInt(server.floors);
+                    int to = 1 + random.nextInt(server.floors - 1);
+                    body.write(TraceWriter.COMPLETE);
+                    putVarInt(body, from);
+                    putVarInt(body, to >= from ? to + 1 : to);
+                }
+                putVarInt(stream, body.size());
+                stream.write(body.toByteArray(), 0, body.size());
+            }
+            frames = stream.toByteArray();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAMES * CALLS_PER_FRAME)
+    public int sendFrames(Client client) throws IOException {
+        client.out.write(client.frames);
+        client.out.flush();
+
+        int accepted = 0;
+        for (int f = 0; f < FRAMES; f++) {
+            int length = client.in.readUnsignedByte();
+            if (client.in.readUnsignedByte() != IngestServer.ACK) {
+                throw new IOException("Ожидался ACK");
+            }
+            int frameAccepted = readVarInt(client.in);
+            client.in.skipBytes(length - 1 - varIntSize(frameAccepted));
+            accepted += frameAccepted;
+        }
+        return accepted;
+    }
+
+    private static void putVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+}
\ No newline at end of file
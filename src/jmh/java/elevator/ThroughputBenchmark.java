@@ -0,0 +1,52 @@
+package elevator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ThroughputBenchmark {
+    @Param({"3", "30", "300"})
+    public int cars;
+
+    @Param({"10", "50", "200"})
+    public int floors;
+
+    @Param({"10", "100", "1000"})
+    public int requestsPerSecond;
+
+    private VirtualTimeScheduler scheduler;
+    private ElevatorController controller;
+    private Random random;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        scheduler = new VirtualTimeScheduler();
+        controller = new ElevatorController(cars, 8, scheduler, EventLog.disabled());
+        random = new Random(42);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        controller.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public int submitAndDispatch() {
+        long interval = Math.max(1, 1000 / requestsPerSecond);
+        for (int i = 0; i < 1000; i++) {
+            int from = 1 + random.nextInt(floors);
+            int to = 1 + random.nextInt(floors - 1);
+            controller.submitCompleteRequest(new ElevatorRequest(from, to >= from ? to + 1 : to));
+            scheduler.sleep(interval);
+        }
+        return controller.getQueueSize();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package elevator;
+
+import java.util.Arrays;
+
+public class CallRateTracker {
+    public static final long DEFAULT_WINDOW_MILLIS = 5 * 60_000;
+    public static final int DEFAULT_BUCKETS = 30;
+
+    private final int floors;
+    private final long bucketMillis;
+    private final int[][] counts;
+    private final long[] epochs;
+
+    public CallRateTracker() {
+        this(FloorSet.DEFAULT_CAPACITY, DEFAULT_WINDOW_MILLIS, DEFAULT_BUCKETS);
+    }
+
+    public CallRateTracker(int floors, long windowMillis, int buckets) {
+        if (floors <= 0 || buckets <= 0 || windowMillis < buckets) {
+            throw new IllegalArgumentException("Неверные параметры окна: этажей " + floors +
+                    ", окно " + windowMillis + " мс, интервалов " + buckets);
+        }
+        this.floors = floors;
+        this.bucketMillis = windowMillis / buckets;
+        this.counts = new int[buckets][floors * 2];
+        this.epochs = new long[buckets];
+        Arrays.fill(epochs, -1);
+    }
+
+    public synchronized void record(int floor, ElevatorRequest.Direction direction, long now) {
+        if (floor < 0 || floor >= floors || direction == null) {
+            return;
+        }
+        counts[bucket(now)][index(floor, direction)]++;
+    }
+
+    public synchronized int getCount(int floor, ElevatorRequest.Direction direction, long now) {
+        if (floor < 0 || floor >= floors) {
+            return 0;
+        }
+        int index = index(floor, direction);
+        long current = now / bucketMillis;
+        int total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (current - epochs[i] < counts.length) {
+                total += counts[i][index];
+            }
+        }
+        return total;
+    }
+
+    public synchronized int[] getDemand(long now) {
+        long current = now / bucketMillis;
+        int[] demand = new int[floors];
+        for (int i = 0; i < counts.length; i++) {
+            if (current - epochs[i] >= counts.length) {
+                continue;
+            }
+            int[] bucket = counts[i];
+            for (int floor = 0; floor < floors; floor++) {
+                demand[floor] += bucket[floor * 2] + bucket[floor * 2 + 1];
+            }
+        }
+        return demand;
+    }
+
+    public double getRatePerMinute(int floor, ElevatorRequest.Direction direction, long now) {
+        return getCount(floor, direction, now) * 60_000.0 / (bucketMillis * counts.length);
+    }
+
+    public int getFloors() {
+        return floors;
+    }
+
+    private int bucket(long now) {
+        long epoch = now / bucketMillis;
+        int slot = (int) (epoch % counts.length);
+        if (epochs[slot] != epoch) {
+            epochs[slot] = epoch;
+            Arrays.fill(counts[slot], 0);
+        }
+        return slot;
+    }
+
+    private static int index(int floor, ElevatorRequest.Direction direction) {
+        return floor * 2 + (direction == ElevatorRequest.Direction.UP ? 0 : 1);
+    }
+}
\ No newline at end of file
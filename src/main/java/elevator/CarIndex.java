@@ -0,0 +1,54 @@
+package elevator;
+
+class CarIndex {
+    private static final Elevator.Direction[] DIRECTIONS = Elevator.Direction.values();
+
+    private final FloorSet[][] byFloor;
+    private final FloorSet doorsOpen;
+
+    CarIndex(int cars) {
+        this.byFloor = new FloorSet[DIRECTIONS.length][FloorSet.DEFAULT_CAPACITY];
+        this.doorsOpen = new FloorSet(cars);
+
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            for (int floor = 0; floor < FloorSet.DEFAULT_CAPACITY; floor++) {
+                byFloor[d][floor] = new FloorSet(cars);
+            }
+        }
+    }
+
+    void update(int car, Elevator.Snapshot before, Elevator.Snapshot after) {
+        byFloor[after.direction().ordinal()][after.floor()].add(car);
+        if (after.status() == Elevator.Status.DOORS_OPEN) {
+            doorsOpen.add(car);
+        }
+
+        if (before != null && (before.floor() != after.floor() || before.direction() != after.direction())) {
+            byFloor[before.direction().ordinal()][before.floor()].remove(car);
+        }
+        if (after.status() != Elevator.Status.DOORS_OPEN) {
+            doorsOpen.remove(car);
+        }
+    }
+
+    FloorSet carsAt(int floor, Elevator.Direction direction) {
+        return byFloor[direction.ordinal()][floor];
+    }
+
+    boolean hasCarsAt(int floor) {
+        for (FloorSet[] direction : byFloor) {
+            if (!direction[floor].isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int firstWithDoorsOpen() {
+        return doorsOpen.ceiling(0);
+    }
+
+    boolean isDoorsOpen(int car) {
+        return doorsOpen.contains(car);
+    }
+}
\ No newline at end of file
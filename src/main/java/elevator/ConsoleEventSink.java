@@ -0,0 +1,119 @@
+package elevator;
+
+import java.io.PrintStream;
+
+public class ConsoleEventSink implements EventSink {
+    private final PrintStream out;
+
+    public ConsoleEventSink() {
+        this(System.out);
+    }
+
+    public ConsoleEventSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void accept(ElevatorEvent event) {
+        if (event.type() != ElevatorEvent.Type.REQUEST_COMPLETED) {
+            out.println(format(event));
+        }
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+
+    public static String format(ElevatorEvent event) {
+        ElevatorRequest request = event.request();
+        int id = event.elevatorId();
+
+        switch (event.type()) {
+            case REQUEST_RECEIVED:
+                if (request.isExternalCall()) {
+                    return "Поступил внешний вызов: этаж " + request.getCallFloor() +
+                            ", направление: " + request.getDirection();
+                } else if (request.isCompleteRequest()) {
+                    return "Поступил полный запрос: с " + request.getCallFloor() +
+                            " на " + request.getDestinationFloor();
+                }
+                return "Поступил внутренний запрос: этаж " + request.getDestinationFloor();
+            case REQUEST_ASSIGNED:
+                if (request.isExternalCall()) {
+                    return "Внешний вызов: этаж " + request.getCallFloor() +
+                            " (" + request.getDirection() + ")" + " -> Лифт " + id;
+                } else if (request.isCompleteRequest()) {
+                    return "Полный запрос: с " + request.getCallFloor() +
+                            " на " + request.getDestinationFloor() + " -> Лифт " + id;
+                }
+                return "Внутренний запрос: этаж " + request.getDestinationFloor() + " -> Лифт " + id;
+            case TRANSFER_PLANNED:
+                return "Пересадка на этаже " + request.getDestinationFloor() + ", далее до этажа " + event.floor();
+            case REQUEST_REQUEUED:
+                return "Запрос с этажа " + floorOf(request) + " отложен. Повтор #" + request.getAttempts() + ".";
+            case REQUEST_COALESCED:
+                return "Вызов с этажа " + request.getCallFloor() +
+                        " (" + request.getDirection() + ") уже ожидает лифт";
+            case REQUEST_REJECTED:
+                if (!request.hasValidFloors()) {
+                    return "Запрос с недопустимым этажом отклонен: с " + request.getCallFloor() +
+                            " на " + request.getDestinationFloor();
+                }
+                return "Очередь запросов переполнена, запрос с этажа " + floorOf(request) + " отклонен";
+            case REQUEST_UNSERVED:
+                if (request.isInternalCall()) {
+                    return "Лифт не обслуживает этаж " + request.getDestinationFloor() + ", запрос отклонен";
+                } else if (request.isCompleteRequest()) {
+                    return "Нет маршрута с " + request.getCallFloor() + " на " + request.getDestinationFloor() +
+                            ", запрос отклонен";
+                }
+                return "Этаж " + request.getCallFloor() + " не обслуживается, вызов отклонен";
+            case REQUEST_DROPPED:
+                if (request.isInternalCall()) {
+                    return "Нет лифтов с открытыми дверями для внутреннего запроса.";
+                } else if (request.isExternalCall()) {
+                    return "Вызов с этажа " + request.getCallFloor() + " снят после " +
+                            request.getAttempts() + " повторов.";
+                }
+                return "Нет доступного лифта для полного запроса после " + request.getAttempts() + " повторов.";
+            case REQUEST_COMPLETED:
+                return "Запрос выполнен лифтом " + id;
+            case PASSENGER_BOARDED:
+                return "Пассажир вошел в лифт " + id;
+            case PASSENGER_ALIGHTED:
+                return "Пассажир вышел из лифта " + id;
+            case OVERFLOW:
+                return "Лифт " + id + " переполнен!";
+            case FLOOR_PASSED:
+                return "Лифт " + id + " на этаже " + event.floor() +
+                        ", статус: " + Elevator.Status.MOVING + ", направление: " + event.direction();
+            case ARRIVED:
+                return "Лифт " + id + " прибыл на этаж " + event.floor();
+            case DOORS_OPENED:
+                return "Лифт " + id + " открытие дверей";
+            case DOORS_CLOSING:
+                return "Лифт " + id + " закрытие дверей";
+            case PRIORITY_FLOOR_ADDED:
+                return "Этаж " + event.floor() + " установлен как приоритетный";
+            case PRIORITY_FLOOR_REMOVED:
+                return "Этаж " + event.floor() + " удален из приоритетных";
+            case ELEVATOR_STOPPED:
+                return "Лифт " + id + " завершил работу";
+            case CONTROLLER_STOPPING:
+                return "Завершение работы контроллера...";
+            case CONTROLLER_STOPPED:
+                return "Контроллер завершил работу.";
+            case SITE_STOPPING:
+                return "Завершение работы контроллера здания...";
+            case SITE_STOPPED:
+                return "Контроллер здания завершил работу.";
+            default:
+                return event.toString();
+        }
+    }
+
+    private static int floorOf(ElevatorRequest request) {
+        return request.isInternalCall() ? request.getDestinationFloor() : request.getCallFloor();
+    }
+}
\ No newline at end of file
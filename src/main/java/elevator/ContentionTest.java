@@ -0,0 +1,57 @@
+package elevator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class ContentionTest {
+    private static final int FLOORS = 30;
+    private static final int CALLS = 200_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] sizes = {3, 30, 300};
+        System.out.printf("%6s %12s %12s %12s %12s%n", "лифты", "p50, мкс", "p99, мкс", "p99.9, мкс", "макс, мкс");
+
+        for (int size : sizes) {
+            long[] latencies = measure(size);
+
+            Arrays.sort(latencies);
+            System.out.printf("%6d %12.2f %12.2f %12.2f %12.2f%n", size,
+                    micros(latencies, 0.50), micros(latencies, 0.99),
+                    micros(latencies, 0.999), latencies[latencies.length - 1] / 1000.0);
+        }
+    }
+
+    private static long[] measure(int numElevators) throws InterruptedException {
+        ElevatorController controller = new ElevatorController(numElevators, 8,
+                WallClockScheduler.pooled(), EventLog.disabled());
+        List<Elevator> elevators = controller.getElevators();
+        Random random = new Random(7);
+
+        for (Elevator elevator : elevators) {
+            elevator.addTargetFloor(FLOORS, false);
+        }
+        Thread.sleep(1000);
+
+        long[] latencies = new long[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            Elevator elevator = elevators.get(random.nextInt(elevators.size()));
+            int floor = 1 + random.nextInt(FLOORS);
+
+            long start = System.nanoTime();
+            elevator.addTargetFloor(floor, false);
+            if (elevator.addPassenger()) {
+                elevator.removePassenger();
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        controller.shutdown();
+        return latencies;
+    }
+
+    private static double micros(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.round(percentile * (sorted.length - 1)));
+        return sorted[index] / 1000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package elevator;
+
+public class DestinationDispatchStrategy implements DispatchStrategy {
+    public static final int DEFAULT_NEW_STOP_COST = 40;
+    public static final int DEFAULT_SHARED_STOP_BONUS = 25;
+
+    private final DispatchStrategy base;
+    private final int newStopCost;
+    private final int sharedStopBonus;
+
+    public DestinationDispatchStrategy() {
+        this(new NearestCarStrategy(), DEFAULT_NEW_STOP_COST, DEFAULT_SHARED_STOP_BONUS);
+    }
+
+    public DestinationDispatchStrategy(DispatchStrategy base, int newStopCost, int sharedStopBonus) {
+        this.base = base;
+        this.newStopCost = newStopCost;
+        this.sharedStopBonus = sharedStopBonus;
+    }
+
+    @Override
+    public int lowerBound(int distance, Elevator.MotionProfile motion) {
+        return Math.max(0, base.lowerBound(distance, motion) - 2 * Math.max(0, sharedStopBonus) + 2 * Math.min(0, newStopCost));
+    }
+
+    @Override
+    public int score(Elevator elevator, Elevator.Snapshot state, ElevatorRequest request, FloorSet priorityFloors) {
+        int score = base.score(elevator, state, request, priorityFloors);
+
+        if (!request.isCompleteRequest()) {
+            return score;
+        }
+
+        score += stopCost(elevator, state, request.getCallFloor());
+        score += stopCost(elevator, state, request.getDestinationFloor());
+
+        return Math.max(0, score);
+    }
+
+    private int stopCost(Elevator elevator, Elevator.Snapshot state, int floor) {
+        if (elevator.hasTargetFloor(floor)) {
+            return -sharedStopBonus;
+        }
+        return state.floor() == floor && state.status() == Elevator.Status.DOORS_OPEN ? 0 : newStopCost;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package elevator;
+
+public interface DispatchStrategy {
+    int score(Elevator elevator, Elevator.Snapshot state, ElevatorRequest request, FloorSet priorityFloors);
+
+    default int lowerBound(int distance, Elevator.MotionProfile motion) {
+        return 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,709 @@
+package elevator;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+public class Elevator {
+    public static final long FLOOR_TRAVEL_MILLIS = 500;
+    public static final long DOORS_OPEN_MILLIS = 1500;
+    public static final long DOORS_CLOSE_MILLIS = 500;
+
+    private final int id;
+    private int currentFloor;
+    private Direction direction;
+    private Status status;
+    private final FloorSet targetFloors;
+    private final FloorSet carStops;
+    private final FloorSet hallUp;
+    private final FloorSet hallDown;
+    private final Lock lock;
+    private final Scheduler scheduler;
+    private final EventLog events;
+    private final ElevatorMetrics metrics;
+    private final Queue<Trip> trips;
+    private volatile Consumer<ElevatorRequest> overflowHandler;
+    private volatile Consumer<ElevatorRequest> pickupHandler;
+    private volatile Consumer<ElevatorRequest> deliveryHandler;
+    private volatile Consumer<Elevator> idleHandler;
+    private volatile BiConsumer<Snapshot, Snapshot> stateHandler;
+    private volatile Consumer<Elevator> changeHandler;
+    private volatile boolean running;
+    private volatile boolean directionalStops;
+    private final AtomicBoolean active;
+    private int passengerCount;
+    private final int maxPassengers;
+    private final FloorSet priorityFloors;
+    private final AtomicReference<Snapshot> snapshot;
+    private final AtomicLong routeVersion;
+    private boolean busy;
+    private long busySince;
+    private long busyMillis;
+    private volatile MotionProfile motion;
+    private int runStart;
+    private long floorsTravelled;
+    private long emptyFloorsTravelled;
+    private long starts;
+    private long stops;
+    private double energyJoules;
+
+    public enum Direction {
+        UP, DOWN, IDLE
+    }
+
+    public enum Status {
+        STOPPED,
+        MOVING,
+        DOORS_OPEN,
+        DOORS_CLOSING
+    }
+
+    private static final class Trip {
+        private final ElevatorRequest request;
+        private final boolean destinationPriority;
+        private volatile boolean onBoard;
+
+        private Trip(ElevatorRequest request, boolean destinationPriority) {
+            this.request = request;
+            this.destinationPriority = destinationPriority;
+            this.onBoard = false;
+        }
+    }
+
+    public record MotionProfile(double floorHeight, double maxSpeed, double acceleration,
+                                long doorsOpenMillis, long doorsCloseMillis, double carMass) {
+        public static final double PASSENGER_MASS = 75;
+        private static final double GRAVITY = 9.81;
+        private static final double COUNTERWEIGHT_BALANCE = 0.5;
+        private static final double DRIVE_EFFICIENCY = 0.8;
+        private static final double FRICTION_NEWTONS = 400;
+
+        public static final MotionProfile CONSTANT_SPEED = new MotionProfile(3.0, 3.0 * 1000 / FLOOR_TRAVEL_MILLIS,
+                Double.POSITIVE_INFINITY, DOORS_OPEN_MILLIS, DOORS_CLOSE_MILLIS, 1000);
+        public static final MotionProfile TRACTION = new MotionProfile(3.5, 2.5, 1.0, 2000, 1000, 1200);
+
+        public MotionProfile {
+            if (!(floorHeight > 0) || !(maxSpeed > 0) || !(acceleration > 0)
+                    || doorsOpenMillis < 0 || doorsCloseMillis < 0 || !(carMass >= 0)) {
+                throw new IllegalArgumentException("Неверный профиль движения: этаж " + floorHeight +
+                        " м, скорость " + maxSpeed + " м/с, ускорение " + acceleration + " м/с², двери " +
+                        doorsOpenMillis + "/" + doorsCloseMillis + " мс, масса " + carMass + " кг");
+            }
+        }
+
+        public long travelMillis(int floors) {
+            double distance = floors * floorHeight;
+            double seconds = distance * acceleration >= maxSpeed * maxSpeed
+                    ? distance / maxSpeed + maxSpeed / acceleration
+                    : 2 * Math.sqrt(distance / acceleration);
+            return Math.round(1000 * seconds);
+        }
+
+        public long hopMillis(int runFloors, int hop) {
+            double distance = runFloors * floorHeight;
+            return Math.round(1000 * elapsedSeconds(distance, (hop + 1) * floorHeight))
+                    - Math.round(1000 * elapsedSeconds(distance, hop * floorHeight));
+        }
+
+        public long dwellMillis() {
+            return doorsOpenMillis + doorsCloseMillis;
+        }
+
+        public double startJoules(int passengers, int capacity) {
+            double counterweight = carMass + COUNTERWEIGHT_BALANCE * capacity * PASSENGER_MASS;
+            double moving = carMass + passengers * PASSENGER_MASS + counterweight;
+            return moving * maxSpeed * maxSpeed / 2 / DRIVE_EFFICIENCY;
+        }
+
+        public double hopJoules(int delta, int passengers, int capacity) {
+            double imbalance = (passengers - COUNTERWEIGHT_BALANCE * capacity) * PASSENGER_MASS;
+            double lifted = Math.max(0, delta > 0 ? imbalance : -imbalance);
+            return (lifted * GRAVITY + FRICTION_NEWTONS) * floorHeight / DRIVE_EFFICIENCY;
+        }
+
+        private double elapsedSeconds(double distance, double position) {
+            double rampDistance = Math.min(maxSpeed * maxSpeed / (2 * acceleration), distance / 2);
+            double peakSpeed = Math.min(maxSpeed, Math.sqrt(acceleration * distance));
+            double rampSeconds = peakSpeed / acceleration;
+
+            if (position <= rampDistance) {
+                return Math.sqrt(2 * position / acceleration);
+            }
+            if (position <= distance - rampDistance) {
+                return rampSeconds + (position - rampDistance) / peakSpeed;
+            }
+            double total = 2 * rampSeconds + (distance - 2 * rampDistance) / peakSpeed;
+            return total - Math.sqrt(2 * (distance - position) / acceleration);
+        }
+    }
+
+    public record TravelStats(long floorsTravelled, long emptyFloorsTravelled, long starts, long stops,
+                              double energyWh) {
+    }
+
+    public record Snapshot(int floor, Direction direction, Status status,
+                           int passengerCount, int maxPassengers, int targetCount) {
+        public boolean isFull() { return passengerCount >= maxPassengers; }
+        public boolean isIdle() { return direction == Direction.IDLE; }
+    }
+
+    public Elevator(int id, int maxPassengers, Scheduler scheduler, EventLog events, ElevatorMetrics metrics) {
+        this(id, maxPassengers, 1, scheduler, events, metrics);
+    }
+
+    public Elevator(int id, int maxPassengers, int homeFloor, Scheduler scheduler, EventLog events,
+                    ElevatorMetrics metrics) {
+        this.id = id;
+        this.currentFloor = homeFloor;
+        this.direction = Direction.IDLE;
+        this.status = Status.STOPPED;
+        this.targetFloors = new FloorSet();
+        this.carStops = new FloorSet();
+        this.hallUp = new FloorSet();
+        this.hallDown = new FloorSet();
+        this.lock = new ReentrantLock();
+        this.scheduler = scheduler;
+        this.events = events;
+        this.metrics = metrics;
+        this.trips = new ConcurrentLinkedQueue<>();
+        this.overflowHandler = request -> { };
+        this.pickupHandler = request -> { };
+        this.deliveryHandler = request -> { };
+        this.idleHandler = elevator -> { };
+        this.stateHandler = (before, after) -> { };
+        this.changeHandler = elevator -> { };
+        this.running = true;
+        this.directionalStops = true;
+        this.active = new AtomicBoolean(false);
+        this.passengerCount = 0;
+        this.maxPassengers = maxPassengers;
+        this.priorityFloors = new FloorSet();
+        this.snapshot = new AtomicReference<>(new Snapshot(homeFloor, Direction.IDLE, Status.STOPPED,
+                0, maxPassengers, 0));
+        this.routeVersion = new AtomicLong();
+        this.busy = false;
+        this.busySince = 0;
+        this.busyMillis = 0;
+        this.motion = MotionProfile.CONSTANT_SPEED;
+        this.runStart = -1;
+        this.floorsTravelled = 0;
+        this.emptyFloorsTravelled = 0;
+        this.starts = 0;
+        this.stops = 0;
+        this.energyJoules = 0;
+    }
+
+    public void addTargetFloor(int floor, boolean isPriority) {
+        addStop(carStops, floor, isPriority);
+    }
+
+    void addHallCall(int floor, ElevatorRequest.Direction direction, boolean isPriority) {
+        addStop(hallCalls(direction), floor, isPriority);
+    }
+
+    private void addStop(FloorSet reasons, int floor, boolean isPriority) {
+        if (isPriority) {
+            priorityFloors.add(floor);
+        }
+        reasons.add(floor);
+        if (targetFloors.add(floor)) {
+            snapshot.updateAndGet(state -> new Snapshot(state.floor(), state.direction(), state.status(),
+                    state.passengerCount(), state.maxPassengers(), targetFloors.size()));
+            routeVersion.incrementAndGet();
+            changeHandler.accept(this);
+        }
+        wakeUp();
+    }
+
+    void assignRequest(ElevatorRequest request, boolean destinationPriority) {
+        if (request.isInternalCall()) {
+            request.markPickedUp(scheduler.now());
+        }
+        trips.add(new Trip(request, destinationPriority));
+        routeVersion.incrementAndGet();
+    }
+
+    void setOverflowHandler(Consumer<ElevatorRequest> overflowHandler) {
+        this.overflowHandler = overflowHandler;
+    }
+
+    void setPickupHandler(Consumer<ElevatorRequest> pickupHandler) {
+        this.pickupHandler = pickupHandler;
+    }
+
+    void setDeliveryHandler(Consumer<ElevatorRequest> deliveryHandler) {
+        this.deliveryHandler = deliveryHandler;
+    }
+
+    void setDirectionalStops(boolean directionalStops) {
+        this.directionalStops = directionalStops;
+    }
+
+    void setMotionProfile(MotionProfile motion) {
+        this.motion = motion;
+    }
+
+    void setIdleHandler(Consumer<Elevator> idleHandler) {
+        this.idleHandler = idleHandler;
+    }
+
+    void setStateHandler(BiConsumer<Snapshot, Snapshot> stateHandler) {
+        this.stateHandler = stateHandler;
+    }
+
+    void setChangeHandler(Consumer<Elevator> changeHandler) {
+        this.changeHandler = changeHandler;
+    }
+
+    long getRouteVersion() {
+        return routeVersion.get();
+    }
+
+    int boardingAt(int floor) {
+        int count = 0;
+        for (Trip trip : trips) {
+            if (!trip.request.isPickedUp() && trip.request.isCompleteRequest()
+                    && trip.request.getCallFloor() == floor) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    int alightingAt(int floor) {
+        int count = 0;
+        for (Trip trip : trips) {
+            if (trip.onBoard && trip.request.getDestinationFloor() == floor) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean addPassenger() {
+        lock.lock();
+        try {
+            if (passengerCount < maxPassengers) {
+                passengerCount++;
+                publishState();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void removePassenger() {
+        lock.lock();
+        try {
+            if (passengerCount > 0) {
+                passengerCount--;
+                publishState();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void restorePassenger(ElevatorRequest request, boolean destinationPriority) {
+        lock.lock();
+        try {
+            Trip trip = new Trip(request, destinationPriority);
+            trip.onBoard = true;
+            request.markPickedUp(scheduler.now());
+            passengerCount++;
+            trips.add(trip);
+            routeVersion.incrementAndGet();
+            events.publishRequest(ElevatorEvent.Type.PASSENGER_BOARDED, id, request);
+            publishState();
+        } finally {
+            lock.unlock();
+        }
+        addTargetFloor(request.getDestinationFloor(), destinationPriority);
+    }
+
+    void relocate(int floor) {
+        lock.lock();
+        try {
+            if (status == Status.STOPPED && targetFloors.isEmpty()) {
+                currentFloor = floor;
+                publishState();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void wakeUp() {
+        if (running && active.compareAndSet(false, true)) {
+            scheduler.schedule(0, this::step);
+        }
+    }
+
+    private void step() {
+        lock.lock();
+        try {
+            if (!running) {
+                active.set(false);
+                return;
+            }
+
+            if (targetFloors.isEmpty()) {
+                status = Status.STOPPED;
+                direction = Direction.IDLE;
+                boolean becameIdle = busy;
+                if (busy) {
+                    busyMillis += scheduler.now() - busySince;
+                    busy = false;
+                }
+                active.set(false);
+                if (!targetFloors.isEmpty()) {
+                    wakeUp();
+                } else if (becameIdle) {
+                    idleHandler.accept(this);
+                }
+                return;
+            }
+
+            if (!busy) {
+                busy = true;
+                busySince = scheduler.now();
+            }
+
+            if (shouldStop(currentFloor)) {
+                stopAtFloor(currentFloor);
+                return;
+            }
+
+            updateDirection();
+            status = Status.MOVING;
+            int nextFloor = getNextFloor();
+
+            if (nextFloor == -1) {
+                active.set(false);
+                return;
+            }
+
+            int delta = nextFloor > currentFloor ? 1 : -1;
+            MotionProfile profile = motion;
+            int stop = nextStop(nextFloor, delta);
+            if (runStart == -1 || Integer.signum(stop - runStart) != delta) {
+                runStart = currentFloor;
+                starts++;
+                energyJoules += profile.startJoules(passengerCount, maxPassengers);
+            }
+            energyJoules += profile.hopJoules(delta, passengerCount, maxPassengers);
+
+            long hopMillis = profile.hopMillis(Math.abs(stop - runStart), Math.abs(currentFloor - runStart));
+            scheduler.schedule(hopMillis, () -> arriveAtNextFloor(delta));
+        } finally {
+            publishState();
+            lock.unlock();
+        }
+    }
+
+    int getNextFloor() {
+        if (targetFloors.isEmpty()) return -1;
+
+        if (direction == Direction.UP) {
+            int next = targetFloors.ceiling(currentFloor + 1);
+            if (next == -1) {
+                direction = Direction.DOWN;
+                return targetFloors.floor(currentFloor - 1);
+            }
+            return next;
+        } else if (direction == Direction.DOWN) {
+            int next = targetFloors.floor(currentFloor - 1);
+            if (next == -1) {
+                direction = Direction.UP;
+                return targetFloors.ceiling(currentFloor + 1);
+            }
+            return next;
+        } else {
+            int higher = targetFloors.ceiling(currentFloor + 1);
+            int lower = targetFloors.floor(currentFloor - 1);
+
+            if (higher != -1 && lower != -1) {
+                direction = higher - currentFloor <= currentFloor - lower
+                        ? Direction.UP : Direction.DOWN;
+                return direction == Direction.UP ? higher : lower;
+            } else if (higher != -1) {
+                direction = Direction.UP;
+                return higher;
+            } else if (lower != -1) {
+                direction = Direction.DOWN;
+                return lower;
+            }
+        }
+        return -1;
+    }
+
+    private void arriveAtNextFloor(int delta) {
+        lock.lock();
+        try {
+            if (!running) {
+                active.set(false);
+                return;
+            }
+
+            currentFloor += delta;
+            floorsTravelled++;
+            if (passengerCount == 0) {
+                emptyFloorsTravelled++;
+            }
+
+            events.publishMotion(ElevatorEvent.Type.FLOOR_PASSED, id, currentFloor, direction);
+
+            if (shouldStop(currentFloor)) {
+                stopAtFloor(currentFloor);
+            } else {
+                step();
+            }
+        } finally {
+            publishState();
+            lock.unlock();
+        }
+    }
+
+    private int nextStop(int nextFloor, int delta) {
+        for (int floor = nextFloor; floor != -1;
+             floor = delta > 0 ? targetFloors.ceiling(floor + 1) : targetFloors.floor(floor - 1)) {
+            if (shouldStop(floor)) {
+                return floor;
+            }
+        }
+        return nextFloor;
+    }
+
+    private boolean shouldStop(int floor) {
+        if (!targetFloors.contains(floor)) {
+            return false;
+        }
+        ElevatorRequest.Direction serving = servingDirection(floor);
+        return serving == null || carStops.contains(floor) || hallCalls(serving).contains(floor);
+    }
+
+    private ElevatorRequest.Direction servingDirection(int floor) {
+        if (!directionalStops || priorityFloors.contains(floor)) {
+            return null;
+        }
+        if (direction == Direction.UP && targetFloors.ceiling(floor + 1) != -1) {
+            return ElevatorRequest.Direction.UP;
+        }
+        if (direction == Direction.DOWN && targetFloors.floor(floor - 1) != -1) {
+            return ElevatorRequest.Direction.DOWN;
+        }
+        return null;
+    }
+
+    private FloorSet hallCalls(ElevatorRequest.Direction direction) {
+        return direction == ElevatorRequest.Direction.UP ? hallUp : hallDown;
+    }
+
+    private void stopAtFloor(int floor) {
+        ElevatorRequest.Direction serving = servingDirection(floor);
+        status = Status.DOORS_OPEN;
+        runStart = -1;
+        stops++;
+        carStops.remove(floor);
+        priorityFloors.remove(floor);
+        if (serving != ElevatorRequest.Direction.DOWN) {
+            hallUp.remove(floor);
+        }
+        if (serving != ElevatorRequest.Direction.UP) {
+            hallDown.remove(floor);
+        }
+        targetFloors.remove(floor);
+        if (carStops.contains(floor) || hallUp.contains(floor) || hallDown.contains(floor)) {
+            targetFloors.add(floor);
+        }
+        routeVersion.incrementAndGet();
+
+        events.publishMotion(ElevatorEvent.Type.ARRIVED, id, floor, direction);
+        events.publishMotion(ElevatorEvent.Type.DOORS_OPENED, id, floor, direction);
+        serveTrips(floor, serving);
+
+        scheduler.schedule(motion.doorsOpenMillis(), this::closeDoors);
+    }
+
+    private void serveTrips(int floor, ElevatorRequest.Direction serving) {
+        long now = scheduler.now();
+
+        Iterator<Trip> iterator = trips.iterator();
+        while (iterator.hasNext()) {
+            Trip trip = iterator.next();
+            ElevatorRequest request = trip.request;
+
+            if (request.isPickedUp() && request.getDestinationFloor() == floor) {
+                if (trip.onBoard) {
+                    passengerCount--;
+                    events.publishRequest(ElevatorEvent.Type.PASSENGER_ALIGHTED, id, request);
+                }
+                metrics.passengerDelivered(request, now);
+                metrics.requestCompleted();
+                iterator.remove();
+                routeVersion.incrementAndGet();
+                events.publishRequest(ElevatorEvent.Type.REQUEST_COMPLETED, id, request);
+                deliveryHandler.accept(request);
+            }
+        }
+
+        iterator = trips.iterator();
+        while (iterator.hasNext()) {
+            Trip trip = iterator.next();
+            ElevatorRequest request = trip.request;
+
+            if (request.isPickedUp() || request.getCallFloor() != floor
+                    || (serving != null && request.getDirection() != serving)) {
+                continue;
+            }
+
+            if (request.isExternalCall()) {
+                metrics.passengerPickedUp(request, now);
+                metrics.requestCompleted();
+                iterator.remove();
+                routeVersion.incrementAndGet();
+                events.publishRequest(ElevatorEvent.Type.REQUEST_COMPLETED, id, request);
+                pickupHandler.accept(request);
+            } else if (passengerCount < maxPassengers) {
+                passengerCount++;
+                trip.onBoard = true;
+                metrics.passengerPickedUp(request, now);
+                events.publishRequest(ElevatorEvent.Type.PASSENGER_BOARDED, id, request);
+
+                if (trip.destinationPriority) {
+                    priorityFloors.add(request.getDestinationFloor());
+                }
+                carStops.add(request.getDestinationFloor());
+                targetFloors.add(request.getDestinationFloor());
+                routeVersion.incrementAndGet();
+            } else {
+                iterator.remove();
+                routeVersion.incrementAndGet();
+                events.publishRequest(ElevatorEvent.Type.OVERFLOW, id, request);
+                overflowHandler.accept(request);
+            }
+        }
+    }
+
+    private void closeDoors() {
+        lock.lock();
+        try {
+            if (!running) {
+                active.set(false);
+                return;
+            }
+
+            status = Status.DOORS_CLOSING;
+            events.publishMotion(ElevatorEvent.Type.DOORS_CLOSING, id, currentFloor, direction);
+        } finally {
+            publishState();
+            lock.unlock();
+        }
+
+        scheduler.schedule(motion.doorsCloseMillis(), () -> {
+            lock.lock();
+            try {
+                status = Status.MOVING;
+                step();
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void updateDirection() {
+        if (!targetFloors.isEmpty() && direction == Direction.IDLE) {
+            int first = targetFloors.first();
+            direction = first > currentFloor ? Direction.UP : Direction.DOWN;
+        }
+    }
+
+    private void publishState() {
+        Snapshot after = new Snapshot(currentFloor, direction, status,
+                passengerCount, maxPassengers, targetFloors.size());
+        Snapshot before = snapshot.getAndSet(after);
+        if (before == null || before.floor() != after.floor() || before.direction() != after.direction()
+                || before.status() != after.status()) {
+            stateHandler.accept(before, after);
+        }
+        if (!after.equals(before)) {
+            routeVersion.incrementAndGet();
+            changeHandler.accept(this);
+        }
+    }
+
+    public long getFloorsTravelled() {
+        lock.lock();
+        try {
+            return floorsTravelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getStopCount() {
+        lock.lock();
+        try {
+            return stops;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public TravelStats getTravelStats() {
+        lock.lock();
+        try {
+            return new TravelStats(floorsTravelled, emptyFloorsTravelled, starts, stops, energyJoules / 3600);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public MotionProfile getMotionProfile() {
+        return motion;
+    }
+
+    public long getBusyMillis() {
+        lock.lock();
+        try {
+            return busy ? busyMillis + scheduler.now() - busySince : busyMillis;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void stop() {
+        lock.lock();
+        try {
+            if (running) {
+                running = false;
+                events.publishNotice(ElevatorEvent.Type.ELEVATOR_STOPPED, id, currentFloor);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getId() { return id; }
+    public Snapshot getSnapshot() { return snapshot.get(); }
+    public int getCurrentFloor() { return snapshot.get().floor(); }
+    public Direction getDirection() { return snapshot.get().direction(); }
+    public Status getStatus() { return snapshot.get().status(); }
+    public boolean hasTargets() { return !targetFloors.isEmpty(); }
+    public Set<Integer> getTargetFloors() { return Collections.unmodifiableSet(targetFloors); }
+    public boolean hasTargetFloor(int floor) { return targetFloors.contains(floor); }
+    public int nextTargetAbove(int floor) { return targetFloors.ceiling(floor); }
+    public int nextTargetBelow(int floor) { return targetFloors.floor(floor); }
+    public int getPassengerCount() { return snapshot.get().passengerCount(); }
+    public int getMaxPassengers() { return maxPassengers; }
+    public boolean isFull() { return snapshot.get().isFull(); }
+    public boolean acceptsPassengers() {
+        Snapshot state = snapshot.get();
+        return !state.isFull() && state.status() == Status.DOORS_OPEN;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,1073 @@
+package elevator;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public final class ElevatorController {
+    private static final long DISPATCH_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+    public static final int DEFAULT_MAX_RETRIES = 20;
+    public static final long DEFAULT_PARKING_DELAY_MILLIS = 5_000;
+    private static final int PRIORITY_HINT_WEIGHT = 1;
+    private static final int MIN_PARKING_CALLS = 3;
+    private static final int INDEXED_SCAN_MIN_CARS = 16;
+
+    public enum OverloadPolicy {
+        // запрос, не поместившийся в очередь, отклоняется
+        REJECT,
+        // запрос принимается и назначается повторно с задержкой
+        DELAY_RETRY
+    }
+
+    public record ParkingZone(int lowestFloor, int highestFloor) {
+        public ParkingZone {
+            if (lowestFloor < 0 || lowestFloor > highestFloor) {
+                throw new IllegalArgumentException("Неверная зона парковки: " + lowestFloor + ".." + highestFloor);
+            }
+        }
+    }
+
+    public record CarRole(Kind kind, FloorSet floors) {
+        public enum Kind {
+            ALL, EXPRESS, ODD, EVEN, ZONE
+        }
+
+        private static final CarRole ALL_FLOORS = new CarRole(Kind.ALL, new FloorSet());
+
+        public static CarRole all() {
+            return ALL_FLOORS;
+        }
+
+        public static CarRole express(int lobby, int... skyLobbies) {
+            FloorSet floors = new FloorSet();
+            floors.add(lobby);
+            for (int floor : skyLobbies) {
+                floors.add(floor);
+            }
+            return new CarRole(Kind.EXPRESS, floors);
+        }
+
+        public static CarRole odd(int lowestFloor, int highestFloor, int... extraFloors) {
+            return new CarRole(Kind.ODD, range(lowestFloor, highestFloor, 1, extraFloors));
+        }
+
+        public static CarRole even(int lowestFloor, int highestFloor, int... extraFloors) {
+            return new CarRole(Kind.EVEN, range(lowestFloor, highestFloor, 0, extraFloors));
+        }
+
+        public static CarRole zone(int lowestFloor, int highestFloor, int... extraFloors) {
+            return new CarRole(Kind.ZONE, range(lowestFloor, highestFloor, -1, extraFloors));
+        }
+
+        private static FloorSet range(int lowestFloor, int highestFloor, int parity, int... extraFloors) {
+            if (lowestFloor < 0 || lowestFloor > highestFloor) {
+                throw new IllegalArgumentException("Неверный диапазон этажей: " + lowestFloor + ".." + highestFloor);
+            }
+            FloorSet floors = new FloorSet();
+            for (int floor = lowestFloor; floor <= highestFloor; floor++) {
+                if (parity == -1 || floor % 2 == parity) {
+                    floors.add(floor);
+                }
+            }
+            for (int floor : extraFloors) {
+                floors.add(floor);
+            }
+            return floors;
+        }
+
+        public boolean serves(int floor) {
+            return kind == Kind.ALL || floors.contains(floor);
+        }
+
+        public boolean serves(ElevatorRequest request) {
+            if (request.isInternalCall()) {
+                return serves(request.getDestinationFloor());
+            }
+            if (request.isCompleteRequest()) {
+                return serves(request.getCallFloor()) && serves(request.getDestinationFloor());
+            }
+            return serves(request.getCallFloor());
+        }
+    }
+
+    private final List<Elevator> elevators;
+    private final BlockingQueue<ElevatorRequest> requestQueue;
+    private final Scheduler scheduler;
+    private final EventLog events;
+    private final ElevatorMetrics metrics;
+    private final long startedAt;
+    private final AtomicBoolean dispatchScheduled;
+    private volatile boolean running;
+    private volatile long batchWindowMillis;
+    private volatile DispatchStrategy dispatchStrategy;
+    private final FloorSet priorityFloors;
+    private final FloorSet pendingUp;
+    private final FloorSet pendingDown;
+    private final CarIndex carIndex;
+    private final StatePublisher statePublisher;
+    private final int firstElevatorId;
+    private final int queueCapacity;
+    private volatile OverloadPolicy overloadPolicy;
+    private volatile int maxRetries;
+    private final CallRateTracker callRates;
+    private final List<ParkingZone> parkingZones;
+    private volatile boolean parkingEnabled;
+    private volatile long parkingDelayMillis;
+    private final CarRole[] carRoles;
+    private volatile List<CarRole> roleGroups;
+    private volatile boolean zoned;
+    private volatile Elevator.MotionProfile sharedMotion;
+    private final Map<ElevatorRequest, Integer> transfers;
+
+    public ElevatorController(int numElevators, int maxPassengers) {
+        this(numElevators, maxPassengers, WallClockScheduler.pooled());
+    }
+
+    public ElevatorController(int numElevators, int maxPassengers, Scheduler scheduler) {
+        this(numElevators, maxPassengers, scheduler, new EventLog(scheduler, new ConsoleEventSink()));
+    }
+
+    public ElevatorController(int numElevators, int maxPassengers, Scheduler scheduler, EventLog events) {
+        this(numElevators, maxPassengers, scheduler, events, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public ElevatorController(int numElevators, int maxPassengers, Scheduler scheduler, EventLog events,
+                              int queueCapacity) {
+        this(numElevators, maxPassengers, scheduler, events, queueCapacity, 1, 1);
+    }
+
+    ElevatorController(int numElevators, int maxPassengers, Scheduler scheduler, EventLog events,
+                       int queueCapacity, int firstElevatorId, int homeFloor) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Емкость очереди должна быть положительной: " + queueCapacity);
+        }
+        this.elevators = new ArrayList<>();
+        this.requestQueue = new LinkedBlockingQueue<>(queueCapacity);
+        this.scheduler = scheduler;
+        this.events = events;
+        this.metrics = new ElevatorMetrics();
+        this.startedAt = scheduler.now();
+        this.dispatchScheduled = new AtomicBoolean(false);
+        this.running = true;
+        this.batchWindowMillis = 0;
+        this.dispatchStrategy = new EtaStrategy();
+        this.priorityFloors = new FloorSet();
+        this.pendingUp = new FloorSet();
+        this.pendingDown = new FloorSet();
+        this.carIndex = new CarIndex(numElevators);
+        this.firstElevatorId = firstElevatorId;
+        this.queueCapacity = queueCapacity;
+        this.overloadPolicy = OverloadPolicy.DELAY_RETRY;
+        this.maxRetries = DEFAULT_MAX_RETRIES;
+        this.callRates = new CallRateTracker();
+        this.parkingZones = new CopyOnWriteArrayList<>();
+        this.parkingEnabled = false;
+        this.parkingDelayMillis = DEFAULT_PARKING_DELAY_MILLIS;
+        this.carRoles = new CarRole[numElevators];
+        this.roleGroups = List.of(CarRole.all());
+        this.zoned = false;
+        this.sharedMotion = Elevator.MotionProfile.CONSTANT_SPEED;
+        this.transfers = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < numElevators; i++) {
+            Elevator elevator = new Elevator(firstElevatorId + i, maxPassengers, homeFloor, scheduler, events, metrics);
+            elevator.setOverflowHandler(this::handleOverflow);
+            elevator.setPickupHandler(this::releaseHallCall);
+            elevator.setDeliveryHandler(this::continueTransfer);
+            elevator.setIdleHandler(this::handleIdle);
+            elevators.add(elevator);
+            carRoles[i] = CarRole.all();
+
+            int index = i;
+            carIndex.update(index, null, elevator.getSnapshot());
+            elevator.setStateHandler((before, after) -> carIndex.update(index, before, after));
+        }
+
+        this.statePublisher = new StatePublisher(elevators);
+        for (int i = 0; i < elevators.size(); i++) {
+            int index = i;
+            elevators.get(i).setChangeHandler(elevator -> statePublisher.carChanged(index));
+        }
+    }
+
+    private void scheduleDispatch(long delayMillis) {
+        if (running && dispatchScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(delayMillis, this::processRequests);
+        }
+    }
+
+    private synchronized void processRequests() {
+        dispatchScheduled.set(false);
+
+        List<ElevatorRequest> batch = new ArrayList<>();
+        requestQueue.drainTo(batch);
+
+        if (running) {
+            long started = System.nanoTime();
+            if (batch.size() == 1) {
+                handleRequest(batch.get(0));
+            } else if (!batch.isEmpty()) {
+                dispatchBatch(batch);
+            }
+            if (!batch.isEmpty()) {
+                long perRequest = (System.nanoTime() - started) / batch.size();
+                for (int i = 0; i < batch.size(); i++) {
+                    metrics.dispatchDecision(perRequest);
+                }
+            }
+        }
+
+        if (!requestQueue.isEmpty()) {
+            scheduleDispatch(DISPATCH_RETRY_MILLIS);
+        }
+    }
+
+    private void dispatchBatch(List<ElevatorRequest> batch) {
+        List<ElevatorRequest> hallCalls = new ArrayList<>();
+        for (ElevatorRequest request : batch) {
+            if (request.isInternalCall()) {
+                handleInternalRequest(request);
+            } else {
+                hallCalls.add(request);
+            }
+        }
+
+        int[][] costs = new int[hallCalls.size()][elevators.size()];
+        for (int i = 0; i < hallCalls.size(); i++) {
+            for (int j = 0; j < elevators.size(); j++) {
+                costs[i][j] = batchCost(elevators.get(j), hallCalls.get(i));
+            }
+        }
+
+        boolean[] assigned = new boolean[hallCalls.size()];
+        for (int round = 0; round < hallCalls.size(); round++) {
+            int bestRequest = -1;
+            int bestElevator = -1;
+            int minCost = Integer.MAX_VALUE;
+
+            for (int i = 0; i < hallCalls.size(); i++) {
+                if (assigned[i]) {
+                    continue;
+                }
+                for (int j = 0; j < elevators.size(); j++) {
+                    if (costs[i][j] < minCost) {
+                        minCost = costs[i][j];
+                        bestRequest = i;
+                        bestElevator = j;
+                    }
+                }
+            }
+
+            if (bestRequest == -1) {
+                break;
+            }
+
+            ElevatorRequest request = hallCalls.get(bestRequest);
+            Elevator elevator = elevators.get(bestElevator);
+            assigned[bestRequest] = true;
+
+            if (request.isExternalCall()) {
+                assignExternalRequest(request, elevator);
+            } else {
+                assignCompleteRequest(request, elevator);
+            }
+
+            for (int i = 0; i < hallCalls.size(); i++) {
+                if (!assigned[i]) {
+                    costs[i][bestElevator] = batchCost(elevator, hallCalls.get(i));
+                }
+            }
+        }
+
+        for (int i = 0; i < hallCalls.size(); i++) {
+            if (!assigned[i]) {
+                handleUnassignedRequest(hallCalls.get(i));
+            }
+        }
+    }
+
+    private int batchCost(Elevator elevator, ElevatorRequest request) {
+        Elevator.Snapshot state = elevator.getSnapshot();
+        return state.isFull() || !serves(elevator, request)
+                ? Integer.MAX_VALUE : calculateElevatorScore(elevator, state, request);
+    }
+
+    private void handleRequest(ElevatorRequest request) {
+        if (request.isExternalCall()) {
+            handleExternalRequest(request);
+        } else if (request.isCompleteRequest()) {
+            handleCompleteRequest(request);
+        } else if (request.isInternalCall()) {
+            handleInternalRequest(request);
+        }
+    }
+
+    private void handleExternalRequest(ElevatorRequest request) {
+        Elevator bestElevator = findBestElevatorForRequest(request);
+
+        if (bestElevator != null) {
+            assignExternalRequest(request, bestElevator);
+        } else {
+            handleUnassignedRequest(request);
+        }
+    }
+
+    private void handleCompleteRequest(ElevatorRequest request) {
+        Elevator bestElevator = findBestElevatorForRequest(request);
+
+        if (bestElevator != null) {
+            assignCompleteRequest(request, bestElevator);
+        } else {
+            handleUnassignedRequest(request);
+        }
+    }
+
+    private void assignExternalRequest(ElevatorRequest request, Elevator elevator) {
+        events.publishRequest(ElevatorEvent.Type.REQUEST_ASSIGNED, elevator.getId(), request);
+        metrics.requestAssigned(request, scheduler.now());
+        elevator.assignRequest(request, false);
+
+        boolean isPriority = priorityFloors.contains(request.getCallFloor());
+        elevator.addHallCall(request.getCallFloor(), request.getDirection(), isPriority);
+    }
+
+    private void assignCompleteRequest(ElevatorRequest request, Elevator elevator) {
+        events.publishRequest(ElevatorEvent.Type.REQUEST_ASSIGNED, elevator.getId(), request);
+        metrics.requestAssigned(request, scheduler.now());
+
+        boolean isCallPriority = priorityFloors.contains(request.getCallFloor());
+        boolean isDestPriority = priorityFloors.contains(request.getDestinationFloor());
+
+        elevator.assignRequest(request, isDestPriority);
+        elevator.addHallCall(request.getCallFloor(), request.getDirection(), isCallPriority);
+    }
+
+    private void assignInternalRequest(ElevatorRequest request, Elevator elevator) {
+        events.publishRequest(ElevatorEvent.Type.REQUEST_ASSIGNED, elevator.getId(), request);
+        metrics.requestAssigned(request, scheduler.now());
+        elevator.assignRequest(request, false);
+
+        boolean isPriority = priorityFloors.contains(request.getDestinationFloor());
+        elevator.addTargetFloor(request.getDestinationFloor(), isPriority);
+    }
+
+    private void handleOverflow(ElevatorRequest request) {
+        metrics.requestRequeued();
+        if (requestQueue.offer(request)) {
+            scheduleDispatch(DISPATCH_RETRY_MILLIS);
+        } else {
+            handleUnassignedRequest(request);
+        }
+    }
+
+    private void handleUnassignedRequest(ElevatorRequest request) {
+        int attempt = request.nextAttempt();
+        if (attempt > maxRetries) {
+            dropRequest(request);
+            return;
+        }
+
+        events.publishRequest(ElevatorEvent.Type.REQUEST_REQUEUED, -1, request);
+        metrics.requestRequeued();
+        scheduler.schedule(retryDelay(attempt), () -> retryRequest(request));
+    }
+
+    private void retryRequest(ElevatorRequest request) {
+        if (!running) {
+            return;
+        }
+        if (requestQueue.offer(request)) {
+            scheduleDispatch(0);
+        } else {
+            handleUnassignedRequest(request);
+        }
+    }
+
+    private static long retryDelay(int attempt) {
+        return Math.min(MAX_RETRY_DELAY_MILLIS, DISPATCH_RETRY_MILLIS << Math.min(attempt - 1, 16));
+    }
+
+    private void dropRequest(ElevatorRequest request) {
+        events.publishRequest(ElevatorEvent.Type.REQUEST_DROPPED, -1, request);
+        metrics.requestDropped();
+        releaseHallCall(request);
+        transfers.remove(request);
+    }
+
+    private boolean rejectRequest(ElevatorRequest request, ElevatorEvent.Type type) {
+        events.publishRequest(type, -1, request);
+        metrics.requestRejected();
+        transfers.remove(request);
+        return false;
+    }
+
+    private boolean handleOverload(ElevatorRequest request) {
+        if (overloadPolicy == OverloadPolicy.DELAY_RETRY) {
+            handleUnassignedRequest(request);
+            return true;
+        }
+
+        releaseHallCall(request);
+        return rejectRequest(request, ElevatorEvent.Type.REQUEST_REJECTED);
+    }
+
+    private FloorSet pendingHallCalls(ElevatorRequest.Direction direction) {
+        return direction == ElevatorRequest.Direction.UP ? pendingUp : pendingDown;
+    }
+
+    private void releaseHallCall(ElevatorRequest request) {
+        if (request.isExternalCall()) {
+            pendingHallCalls(request.getDirection()).remove(request.getCallFloor());
+        }
+    }
+
+    private void handleInternalRequest(ElevatorRequest request) {
+        Elevator elevator;
+        if (request.getElevatorId() != -1) {
+            elevator = getElevator(request.getElevatorId());
+        } else {
+            int car = carIndex.firstWithDoorsOpen();
+            elevator = car == -1 ? null : elevators.get(car);
+        }
+
+        if (elevator == null) {
+            dropRequest(request);
+        } else if (!serves(elevator, request)) {
+            rejectRequest(request, ElevatorEvent.Type.REQUEST_UNSERVED);
+        } else {
+            assignInternalRequest(request, elevator);
+        }
+    }
+
+    private void continueTransfer(ElevatorRequest request) {
+        Integer destination = transfers.remove(request);
+        if (destination != null && running) {
+            submitRequest(new ElevatorRequest(request.getDestinationFloor(), destination));
+        }
+    }
+
+    private boolean serves(Elevator elevator, ElevatorRequest request) {
+        return !zoned || carRoles[elevator.getId() - firstElevatorId].serves(request);
+    }
+
+    private boolean serves(Elevator elevator, int floor) {
+        return !zoned || carRoles[elevator.getId() - firstElevatorId].serves(floor);
+    }
+
+    private boolean isServed(ElevatorRequest request) {
+        for (CarRole role : roleGroups) {
+            if (role.serves(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int transferFloor(int callFloor, int destinationFloor) {
+        List<CarRole> groups = roleGroups;
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+
+        for (CarRole first : groups) {
+            if (!first.serves(callFloor)) {
+                continue;
+            }
+            for (CarRole second : groups) {
+                if (first == second || !second.serves(destinationFloor)) {
+                    continue;
+                }
+                for (int floor : second.kind() == CarRole.Kind.ALL ? first.floors() : second.floors()) {
+                    if (floor == callFloor || floor == destinationFloor || !first.serves(floor)) {
+                        continue;
+                    }
+                    int distance = Math.abs(floor - callFloor) + Math.abs(destinationFloor - floor);
+                    if (distance < bestDistance || (distance == bestDistance
+                            && Math.abs(destinationFloor - floor) < Math.abs(destinationFloor - best))) {
+                        best = floor;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private void handleIdle(Elevator elevator) {
+        if (parkingEnabled && running) {
+            scheduler.schedule(parkingDelayMillis, this::parkIdleCars);
+        }
+    }
+
+    private synchronized void parkIdleCars() {
+        if (!parkingEnabled || !running) {
+            return;
+        }
+
+        List<Elevator> idle = new ArrayList<>();
+        for (Elevator elevator : elevators) {
+            Elevator.Snapshot state = elevator.getSnapshot();
+            if (state.isIdle() && state.status() == Elevator.Status.STOPPED && state.targetCount() == 0) {
+                idle.add(elevator);
+            }
+        }
+        if (idle.isEmpty()) {
+            return;
+        }
+
+        List<Integer> spots = parkingSpots(idle.size());
+        List<Integer> unmatched = new ArrayList<>();
+        for (int spot : spots) {
+            Elevator already = null;
+            for (Elevator elevator : idle) {
+                if (elevator.getCurrentFloor() == spot && serves(elevator, spot)) {
+                    already = elevator;
+                    break;
+                }
+            }
+            if (already != null) {
+                idle.remove(already);
+            } else {
+                unmatched.add(spot);
+            }
+        }
+
+        for (int spot : unmatched) {
+            Elevator nearest = null;
+            for (Elevator elevator : idle) {
+                if (!serves(elevator, spot)) {
+                    continue;
+                }
+                if (nearest == null ||
+                        Math.abs(elevator.getCurrentFloor() - spot) < Math.abs(nearest.getCurrentFloor() - spot)) {
+                    nearest = elevator;
+                }
+            }
+            if (nearest == null) {
+                continue;
+            }
+            idle.remove(nearest);
+            nearest.addTargetFloor(spot, false);
+        }
+    }
+
+    private List<Integer> parkingSpots(int cars) {
+        int[] weights = callRates.getDemand(scheduler.now());
+        for (int floor = 0; floor < weights.length; floor++) {
+            if (weights[floor] < MIN_PARKING_CALLS) {
+                weights[floor] = 0;
+            }
+        }
+        for (int floor : priorityFloors) {
+            if (floor < weights.length) {
+                weights[floor] += PRIORITY_HINT_WEIGHT;
+            }
+        }
+
+        List<ParkingZone> zones = parkingZones.isEmpty()
+                ? List.of(new ParkingZone(0, weights.length - 1))
+                : parkingZones;
+        long[] zoneWeights = new long[zones.size()];
+        int[] zoneCars = new int[zones.size()];
+        for (int z = 0; z < zones.size(); z++) {
+            ParkingZone zone = zones.get(z);
+            for (int floor = zone.lowestFloor(); floor <= Math.min(zone.highestFloor(), weights.length - 1); floor++) {
+                zoneWeights[z] += weights[floor];
+            }
+        }
+
+        int[] floorCars = new int[weights.length];
+        List<Integer> spots = new ArrayList<>();
+        while (spots.size() < cars) {
+            int bestZone = -1;
+            for (int z = 0; z < zones.size(); z++) {
+                if (zoneWeights[z] > 0 && (bestZone == -1 ||
+                        zoneWeights[z] * (zoneCars[bestZone] + 1) > zoneWeights[bestZone] * (zoneCars[z] + 1))) {
+                    bestZone = z;
+                }
+            }
+            if (bestZone == -1) {
+                break;
+            }
+
+            ParkingZone zone = zones.get(bestZone);
+            int bestFloor = -1;
+            for (int floor = zone.lowestFloor(); floor <= Math.min(zone.highestFloor(), weights.length - 1); floor++) {
+                if (weights[floor] > floorCars[floor] && (bestFloor == -1 ||
+                        (long) weights[floor] * (floorCars[bestFloor] + 1) > (long) weights[bestFloor] * (floorCars[floor] + 1))) {
+                    bestFloor = floor;
+                }
+            }
+            if (bestFloor == -1) {
+                zoneWeights[bestZone] = 0;
+                continue;
+            }
+
+            spots.add(bestFloor);
+            zoneCars[bestZone]++;
+            floorCars[bestFloor]++;
+        }
+        return spots;
+    }
+
+    Elevator findBestElevatorForRequest(ElevatorRequest request) {
+        int origin = request.getCallFloor();
+        Elevator.MotionProfile motion = sharedMotion;
+        if (elevators.size() >= INDEXED_SCAN_MIN_CARS && motion != null
+                && origin >= 0 && origin < FloorSet.DEFAULT_CAPACITY) {
+            return findNearestBestElevator(request, origin, motion);
+        }
+
+        Elevator bestElevator = null;
+        int minScore = Integer.MAX_VALUE;
+
+        for (Elevator elevator : elevators) {
+            Elevator.Snapshot state = elevator.getSnapshot();
+            if (state.isFull() || !serves(elevator, request)) {
+                continue;
+            }
+
+            int score = calculateElevatorScore(elevator, state, request);
+
+            if (score < minScore) {
+                minScore = score;
+                bestElevator = elevator;
+            }
+        }
+
+        return bestElevator;
+    }
+
+    private Elevator findNearestBestElevator(ElevatorRequest request, int origin, Elevator.MotionProfile motion) {
+        DispatchStrategy strategy = dispatchStrategy;
+        int best = -1;
+        int minScore = Integer.MAX_VALUE;
+
+        for (int distance = 0; distance < FloorSet.DEFAULT_CAPACITY; distance++) {
+            if (strategy.lowerBound(distance, motion) > minScore) {
+                break;
+            }
+
+            for (int side = 0; side < (distance == 0 ? 1 : 2); side++) {
+                int floor = side == 0 ? origin - distance : origin + distance;
+                if (floor < 0 || floor >= FloorSet.DEFAULT_CAPACITY || !carIndex.hasCarsAt(floor)) {
+                    continue;
+                }
+
+                for (Elevator.Direction direction : Elevator.Direction.values()) {
+                    FloorSet cars = carIndex.carsAt(floor, direction);
+                    for (int car = cars.ceiling(0); car != -1; car = cars.ceiling(car + 1)) {
+                        Elevator elevator = elevators.get(car);
+                        Elevator.Snapshot state = elevator.getSnapshot();
+                        if (state.isFull() || !serves(elevator, request)) {
+                            continue;
+                        }
+
+                        int score = strategy.score(elevator, state, request, priorityFloors);
+                        if (score < minScore || (score == minScore && car < best)) {
+                            minScore = score;
+                            best = car;
+                        }
+                    }
+                }
+            }
+        }
+
+        return best == -1 ? null : elevators.get(best);
+    }
+
+    int calculateElevatorScore(Elevator elevator, Elevator.Snapshot state, ElevatorRequest request) {
+        return dispatchStrategy.score(elevator, state, request, priorityFloors);
+    }
+
+    public boolean submitRequest(ElevatorRequest request) {
+        if (!request.hasValidFloors()) {
+            metrics.requestSubmitted(request, scheduler.now());
+            return rejectRequest(request, ElevatorEvent.Type.REQUEST_REJECTED);
+        }
+        if (request.getElevatorId() != -1 && getElevator(request.getElevatorId()) == null) {
+            metrics.requestSubmitted(request, scheduler.now());
+            return rejectRequest(request, ElevatorEvent.Type.REQUEST_UNSERVED);
+        }
+        if (zoned && !isServed(request)) {
+            return submitWithTransfer(request);
+        }
+
+        metrics.requestSubmitted(request, scheduler.now());
+
+        if (request.isExternalCall() && !pendingHallCalls(request.getDirection()).add(request.getCallFloor())) {
+            events.publishRequest(ElevatorEvent.Type.REQUEST_COALESCED, -1, request);
+            metrics.requestCoalesced();
+            return true;
+        }
+
+        if (!events.publishRequest(ElevatorEvent.Type.REQUEST_RECEIVED, -1, request)) {
+            releaseHallCall(request);
+            return rejectRequest(request, ElevatorEvent.Type.REQUEST_REJECTED);
+        }
+        if (!request.isInternalCall()) {
+            callRates.record(request.getCallFloor(), request.getDirection(), scheduler.now());
+        }
+        if (!requestQueue.offer(request)) {
+            return handleOverload(request);
+        }
+        scheduleDispatch(batchWindowMillis);
+        return true;
+    }
+
+    private boolean submitWithTransfer(ElevatorRequest request) {
+        int transfer = request.isCompleteRequest()
+                ? transferFloor(request.getCallFloor(), request.getDestinationFloor())
+                : -1;
+        if (transfer == -1) {
+            metrics.requestSubmitted(request, scheduler.now());
+            return rejectRequest(request, ElevatorEvent.Type.REQUEST_UNSERVED);
+        }
+
+        ElevatorRequest firstLeg = new ElevatorRequest(request.getCallFloor(), transfer);
+        if (!events.publishRequest(ElevatorEvent.Type.TRANSFER_PLANNED, -1, request.getDestinationFloor(), firstLeg)) {
+            metrics.requestSubmitted(request, scheduler.now());
+            return rejectRequest(request, ElevatorEvent.Type.REQUEST_REJECTED);
+        }
+        transfers.put(firstLeg, request.getDestinationFloor());
+        return submitRequest(firstLeg);
+    }
+
+    public boolean submitExternalRequest(ElevatorRequest request) {
+        return submitRequest(request);
+    }
+
+    public boolean submitInternalRequest(ElevatorRequest request) {
+        return submitRequest(request);
+    }
+
+    public boolean submitCompleteRequest(ElevatorRequest request) {
+        return submitRequest(request);
+    }
+
+    public void restore(JournalEventSink.Recovery recovery) {
+        for (Elevator elevator : elevators) {
+            Integer floor = recovery.carFloors().get(elevator.getId());
+            if (floor != null && ElevatorRequest.isValidFloor(floor)) {
+                elevator.relocate(floor);
+            }
+        }
+
+        for (JournalEventSink.PendingRequest pending : recovery.requests()) {
+            ElevatorRequest request = pending.request();
+            Elevator elevator = getElevator(pending.elevatorId());
+            if (pending.transferDestination() != -1) {
+                transfers.put(request, pending.transferDestination());
+            }
+
+            if (elevator != null && request.hasValidFloors() && (request.isInternalCall() || pending.onBoard())) {
+                metrics.requestSubmitted(request, scheduler.now());
+                events.publishRequest(ElevatorEvent.Type.REQUEST_RECEIVED, -1, request);
+
+                if (request.isInternalCall()) {
+                    assignInternalRequest(request, elevator);
+                } else {
+                    events.publishRequest(ElevatorEvent.Type.REQUEST_ASSIGNED, elevator.getId(), request);
+                    metrics.requestAssigned(request, scheduler.now());
+                    elevator.restorePassenger(request, priorityFloors.contains(request.getDestinationFloor()));
+                }
+            } else {
+                submitRequest(request);
+            }
+        }
+    }
+
+    public Elevator getElevator(int id) {
+        int index = id - firstElevatorId;
+        return index >= 0 && index < elevators.size() ? elevators.get(index) : null;
+    }
+
+    public StatePublisher.Subscription subscribe(Consumer<StatePublisher.CarChange> listener) {
+        return subscribe(listener, task -> scheduler.schedule(0, task));
+    }
+
+    public StatePublisher.Subscription subscribe(Consumer<StatePublisher.CarChange> listener, Executor executor) {
+        return statePublisher.subscribe(listener, executor);
+    }
+
+    public boolean hasCarWithDoorsOpen() {
+        return carIndex.firstWithDoorsOpen() != -1;
+    }
+
+    public boolean hasPendingHallCall(int floor, ElevatorRequest.Direction direction) {
+        return floor >= 0 && floor < FloorSet.DEFAULT_CAPACITY && pendingHallCalls(direction).contains(floor);
+    }
+
+    public void setBatchWindow(long millis) {
+        this.batchWindowMillis = Math.max(0, millis);
+    }
+
+    public long getBatchWindow() {
+        return batchWindowMillis;
+    }
+
+    public void setDispatchStrategy(DispatchStrategy dispatchStrategy) {
+        this.dispatchStrategy = dispatchStrategy;
+    }
+
+    public DispatchStrategy getDispatchStrategy() {
+        return dispatchStrategy;
+    }
+
+    public synchronized void setCarRole(int elevatorId, CarRole role) {
+        Elevator elevator = getElevator(elevatorId);
+        if (elevator == null) {
+            throw new IllegalArgumentException("Неизвестный лифт: " + elevatorId);
+        }
+        carRoles[elevatorId - firstElevatorId] = role;
+
+        List<CarRole> groups = new ArrayList<>();
+        boolean restricted = false;
+        for (CarRole carRole : carRoles) {
+            if (!groups.contains(carRole)) {
+                groups.add(carRole);
+            }
+            restricted |= carRole.kind() != CarRole.Kind.ALL;
+        }
+        roleGroups = groups;
+        zoned = restricted;
+    }
+
+    public CarRole getCarRole(int elevatorId) {
+        Elevator elevator = getElevator(elevatorId);
+        if (elevator == null) {
+            throw new IllegalArgumentException("Неизвестный лифт: " + elevatorId);
+        }
+        return carRoles[elevatorId - firstElevatorId];
+    }
+
+    public synchronized void setMotionProfile(Elevator.MotionProfile motion) {
+        for (Elevator elevator : elevators) {
+            elevator.setMotionProfile(motion);
+        }
+        sharedMotion = motion;
+    }
+
+    public synchronized void setMotionProfile(int elevatorId, Elevator.MotionProfile motion) {
+        Elevator elevator = getElevator(elevatorId);
+        if (elevator == null) {
+            throw new IllegalArgumentException("Неизвестный лифт: " + elevatorId);
+        }
+        elevator.setMotionProfile(motion);
+
+        Elevator.MotionProfile shared = motion;
+        for (Elevator other : elevators) {
+            if (!other.getMotionProfile().equals(shared)) {
+                shared = null;
+                break;
+            }
+        }
+        sharedMotion = shared;
+    }
+
+    public void setDirectionalStops(boolean directionalStops) {
+        for (Elevator elevator : elevators) {
+            elevator.setDirectionalStops(directionalStops);
+        }
+    }
+
+    public void setOverloadPolicy(OverloadPolicy overloadPolicy) {
+        this.overloadPolicy = overloadPolicy;
+    }
+
+    public OverloadPolicy getOverloadPolicy() {
+        return overloadPolicy;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setParkingEnabled(boolean parkingEnabled) {
+        this.parkingEnabled = parkingEnabled;
+        if (parkingEnabled && running) {
+            scheduler.schedule(0, this::parkIdleCars);
+        }
+    }
+
+    public boolean isParkingEnabled() {
+        return parkingEnabled;
+    }
+
+    public void setParkingDelay(long millis) {
+        this.parkingDelayMillis = Math.max(0, millis);
+    }
+
+    public long getParkingDelay() {
+        return parkingDelayMillis;
+    }
+
+    public void addParkingZone(int lowestFloor, int highestFloor) {
+        parkingZones.add(new ParkingZone(lowestFloor, highestFloor));
+    }
+
+    public void clearParkingZones() {
+        parkingZones.clear();
+    }
+
+    public List<ParkingZone> getParkingZones() {
+        return new ArrayList<>(parkingZones);
+    }
+
+    public CallRateTracker getCallRates() {
+        return callRates;
+    }
+
+    public void addPriorityFloor(int floor) {
+        if (priorityFloors.add(floor)) {
+            events.publishNotice(ElevatorEvent.Type.PRIORITY_FLOOR_ADDED, -1, floor);
+        }
+    }
+
+    public void removePriorityFloor(int floor) {
+        if (priorityFloors.remove(floor)) {
+            events.publishNotice(ElevatorEvent.Type.PRIORITY_FLOOR_REMOVED, -1, floor);
+        }
+    }
+
+    public void shutdown() {
+        events.publishNotice(ElevatorEvent.Type.CONTROLLER_STOPPING, -1, -1);
+        stop();
+        scheduler.shutdown();
+        events.publishNotice(ElevatorEvent.Type.CONTROLLER_STOPPED, -1, -1);
+        events.close();
+    }
+
+    void stop() {
+        running = false;
+
+        for (Elevator elevator : elevators) {
+            elevator.stop();
+        }
+    }
+
+    public void printStatus() {
+        events.flush();
+        System.out.println("Запросов в очереди: " + requestQueue.size());
+        System.out.println("Приоритетные этажи: " + priorityFloors);
+        System.out.println("Ожидающие вызовы: вверх " + pendingUp + ", вниз " + pendingDown);
+
+        for (Elevator elevator : elevators) {
+            Elevator.Snapshot state = elevator.getSnapshot();
+            String statusStr = "";
+            switch (state.status()) {
+                case STOPPED: statusStr = "СТОИТ"; break;
+                case MOVING: statusStr = "ДВИЖЕТСЯ"; break;
+                case DOORS_OPEN: statusStr = "ДВЕРИ ОТКРЫТЫ"; break;
+                case DOORS_CLOSING: statusStr = "ДВЕРИ ЗАКРЫВАЮТСЯ"; break;
+            }
+
+            String directionStr = "";
+            switch (state.direction()) {
+                case UP: directionStr = "ВВЕРХ"; break;
+                case DOWN: directionStr = "ВНИЗ"; break;
+                case IDLE: directionStr = "БЕЗ НАПРАВЛЕНИЯ"; break;
+            }
+
+            System.out.printf("Лифт %d: этаж %2d | %-18s | %-15s | пассажиры: %d/%d | цели: %s%s%n",
+                    elevator.getId(),
+                    state.floor(),
+                    statusStr,
+                    directionStr,
+                    state.passengerCount(),
+                    state.maxPassengers(),
+                    elevator.getTargetFloors(),
+                    zoned ? " | " + describe(carRoles[elevator.getId() - firstElevatorId]) : "");
+        }
+    }
+
+    private static String describe(CarRole role) {
+        switch (role.kind()) {
+            case EXPRESS: return "экспресс " + role.floors();
+            case ODD: return "нечетные " + ranges(role.floors(), 2);
+            case EVEN: return "четные " + ranges(role.floors(), 2);
+            case ZONE: return "зона " + ranges(role.floors(), 1);
+            default: return "все этажи";
+        }
+    }
+
+    private static String ranges(FloorSet floors, int step) {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        int start = floors.first();
+        while (start != -1) {
+            int end = start;
+            int next = floors.ceiling(end + 1);
+            while (next != -1 && next == end + step) {
+                end = next;
+                next = floors.ceiling(end + 1);
+            }
+            joiner.add(end == start ? String.valueOf(start) : start + ".." + end);
+            start = next;
+        }
+        return joiner.toString();
+    }
+
+    public List<Elevator> getElevators() {
+        return new ArrayList<>(elevators);
+    }
+
+    public ElevatorMetrics getMetrics() {
+        return metrics;
+    }
+
+    public double getUtilization(Elevator elevator) {
+        long elapsed = scheduler.now() - startedAt;
+        return elapsed <= 0 ? 0 : Math.min(1.0, (double) elevator.getBusyMillis() / elapsed);
+    }
+
+    public void printMetrics() {
+        events.flush();
+        System.out.print(metrics.format());
+
+        double energyWh = 0;
+        for (Elevator elevator : elevators) {
+            Elevator.TravelStats travel = elevator.getTravelStats();
+            energyWh += travel.energyWh();
+            System.out.printf("Лифт %d: загрузка %.1f%%, %s%n", elevator.getId(), getUtilization(elevator) * 100,
+                    formatTravel(travel));
+        }
+        System.out.printf("Энергия: %.1f Вт·ч%n", energyWh);
+    }
+
+    static String formatTravel(Elevator.TravelStats travel) {
+        return String.format("этажей %d (порожних %d), пусков %d, остановок %d, энергия %.1f Вт·ч",
+                travel.floorsTravelled(), travel.emptyFloorsTravelled(), travel.starts(), travel.stops(),
+                travel.energyWh());
+    }
+
+    public void scheduleMetricsDump(long periodMillis) {
+        scheduler.schedule(periodMillis, () -> {
+            if (running) {
+                printMetrics();
+                scheduleMetricsDump(periodMillis);
+            }
+        });
+    }
+
+    public EventLog getEventLog() {
+        return events;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public int getQueueSize() {
+        return requestQueue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
\ No newline at end of file
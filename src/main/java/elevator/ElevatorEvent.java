@@ -0,0 +1,30 @@
+package elevator;
+
+public record ElevatorEvent(Type type, long time, int elevatorId, int floor,
+                            ElevatorRequest request, Elevator.Direction direction) {
+    public enum Type {
+        REQUEST_RECEIVED,
+        REQUEST_ASSIGNED,
+        TRANSFER_PLANNED,
+        REQUEST_REQUEUED,
+        REQUEST_COALESCED,
+        REQUEST_REJECTED,
+        REQUEST_DROPPED,
+        REQUEST_COMPLETED,
+        PASSENGER_BOARDED,
+        PASSENGER_ALIGHTED,
+        OVERFLOW,
+        FLOOR_PASSED,
+        ARRIVED,
+        DOORS_OPENED,
+        DOORS_CLOSING,
+        PRIORITY_FLOOR_ADDED,
+        PRIORITY_FLOOR_REMOVED,
+        ELEVATOR_STOPPED,
+        CONTROLLER_STOPPING,
+        CONTROLLER_STOPPED,
+        SITE_STOPPING,
+        SITE_STOPPED,
+        REQUEST_UNSERVED
+    }
+}
\ No newline at end of file
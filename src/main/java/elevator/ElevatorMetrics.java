@@ -0,0 +1,105 @@
+package elevator;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class ElevatorMetrics {
+    private final LatencyHistogram waitTime;
+    private final LatencyHistogram rideTime;
+    private final LatencyHistogram queueTime;
+    private final LatencyHistogram dispatchLatency;
+    private final LongAdder submitted;
+    private final LongAdder assigned;
+    private final LongAdder requeued;
+    private final LongAdder dropped;
+    private final LongAdder coalesced;
+    private final LongAdder rejected;
+    private final LongAdder completed;
+
+    public ElevatorMetrics() {
+        this.waitTime = new LatencyHistogram();
+        this.rideTime = new LatencyHistogram();
+        this.queueTime = new LatencyHistogram();
+        this.dispatchLatency = new LatencyHistogram();
+        this.submitted = new LongAdder();
+        this.assigned = new LongAdder();
+        this.requeued = new LongAdder();
+        this.dropped = new LongAdder();
+        this.coalesced = new LongAdder();
+        this.rejected = new LongAdder();
+        this.completed = new LongAdder();
+    }
+
+    void requestSubmitted(ElevatorRequest request, long now) {
+        request.markSubmitted(now);
+        submitted.increment();
+    }
+
+    void requestAssigned(ElevatorRequest request, long now) {
+        request.markAssigned(now);
+        assigned.increment();
+        queueTime.record(now - request.getSubmittedAt());
+    }
+
+    void requestRequeued() {
+        requeued.increment();
+    }
+
+    void requestDropped() {
+        dropped.increment();
+    }
+
+    void requestCoalesced() {
+        coalesced.increment();
+    }
+
+    void requestRejected() {
+        rejected.increment();
+    }
+
+    void passengerPickedUp(ElevatorRequest request, long now) {
+        request.markPickedUp(now);
+        waitTime.record(now - request.getSubmittedAt());
+    }
+
+    void passengerDelivered(ElevatorRequest request, long now) {
+        request.markDelivered(now);
+        rideTime.record(now - request.getPickedUpAt());
+    }
+
+    void requestCompleted() {
+        completed.increment();
+    }
+
+    void dispatchDecision(long nanos) {
+        dispatchLatency.record(nanos);
+    }
+
+    public LatencyHistogram getWaitTime() { return waitTime; }
+    public LatencyHistogram getRideTime() { return rideTime; }
+    public LatencyHistogram getQueueTime() { return queueTime; }
+    public LatencyHistogram getDispatchLatency() { return dispatchLatency; }
+    public long getSubmittedCount() { return submitted.sum(); }
+    public long getAssignedCount() { return assigned.sum(); }
+    public long getRequeuedCount() { return requeued.sum(); }
+    public long getDroppedCount() { return dropped.sum(); }
+    public long getCoalescedCount() { return coalesced.sum(); }
+    public long getRejectedCount() { return rejected.sum(); }
+    public long getCompletedCount() { return completed.sum(); }
+
+    public String format() {
+        return String.format("Запросов: поступило %d, назначено %d, возвращено %d, отброшено %d, выполнено %d%n",
+                getSubmittedCount(), getAssignedCount(), getRequeuedCount(), getDroppedCount(), getCompletedCount()) +
+                String.format("Перегрузка: объединено %d, отклонено %d%n", getCoalescedCount(), getRejectedCount()) +
+                formatHistogram("Ожидание, мс", waitTime) +
+                formatHistogram("Поездка, мс", rideTime) +
+                formatHistogram("В очереди, мс", queueTime) +
+                formatHistogram("Решение диспетчера, нс", dispatchLatency);
+    }
+
+    private static String formatHistogram(String title, LatencyHistogram histogram) {
+        return String.format("%-24s n=%d среднее=%.1f p50=%d p95=%d p99=%d макс=%d%n",
+                title, histogram.getCount(), histogram.getMean(),
+                histogram.getPercentile(50), histogram.getPercentile(95),
+                histogram.getPercentile(99), histogram.getMax());
+    }
+}
\ No newline at end of file
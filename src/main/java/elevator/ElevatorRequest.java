@@ -0,0 +1,73 @@
+package elevator;
+
+public class ElevatorRequest {
+    private final int callFloor;
+    private final Direction direction;
+    private final int destinationFloor;
+    private final int elevatorId;
+    private volatile long submittedAt = -1;
+    private volatile long assignedAt = -1;
+    private volatile long pickedUpAt = -1;
+    private volatile long deliveredAt = -1;
+    private volatile int attempts;
+
+    public enum Direction {
+        UP, DOWN
+    }
+
+    public ElevatorRequest(int callFloor, Direction direction) {
+        this(callFloor, direction, -1, -1);
+    }
+
+    public ElevatorRequest(int callFloor, int destinationFloor) {
+        this(callFloor, destinationFloor > callFloor ? Direction.UP : Direction.DOWN, destinationFloor, -1);
+    }
+
+    public ElevatorRequest(int destinationFloor) {
+        this(-1, null, destinationFloor, -1);
+    }
+
+    private ElevatorRequest(int callFloor, Direction direction, int destinationFloor, int elevatorId) {
+        this.callFloor = callFloor;
+        this.direction = direction;
+        this.destinationFloor = destinationFloor;
+        this.elevatorId = elevatorId;
+    }
+
+    public static ElevatorRequest carCall(int elevatorId, int destinationFloor) {
+        return new ElevatorRequest(-1, null, destinationFloor, elevatorId);
+    }
+
+    public int getCallFloor() { return callFloor; }
+    public Direction getDirection() { return direction; }
+    public int getDestinationFloor() { return destinationFloor; }
+    public int getElevatorId() { return elevatorId; }
+    public boolean isExternalCall() { return callFloor != -1 && destinationFloor == -1; }
+    public boolean isInternalCall() { return callFloor == -1 && destinationFloor != -1; }
+    public boolean isCompleteRequest() { return callFloor != -1 && destinationFloor != -1; }
+
+    public boolean hasValidFloors() {
+        if (isInternalCall()) {
+            return isValidFloor(destinationFloor);
+        }
+        return isValidFloor(callFloor) && (destinationFloor == -1 || isValidFloor(destinationFloor))
+                && direction != null;
+    }
+
+    static boolean isValidFloor(int floor) {
+        return floor >= 0 && floor < FloorSet.DEFAULT_CAPACITY;
+    }
+
+    public long getSubmittedAt() { return submittedAt; }
+    public long getAssignedAt() { return assignedAt; }
+    public long getPickedUpAt() { return pickedUpAt; }
+    public long getDeliveredAt() { return deliveredAt; }
+    public boolean isPickedUp() { return pickedUpAt != -1; }
+    public int getAttempts() { return attempts; }
+
+    void markSubmitted(long time) { submittedAt = time; }
+    void markAssigned(long time) { assignedAt = time; }
+    void markPickedUp(long time) { pickedUpAt = time; }
+    void markDelivered(long time) { deliveredAt = time; }
+    int nextAttempt() { return ++attempts; }
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package elevator;
+
+public class EnergyAwareStrategy implements DispatchStrategy {
+    public static final int DEFAULT_START_COST_MILLIS = 10_000;
+    public static final int DEFAULT_STOP_COST_MILLIS = 3_000;
+    public static final int DEFAULT_EMPTY_FLOOR_COST_MILLIS = 500;
+
+    private final DispatchStrategy base;
+    private final int startCost;
+    private final int stopCost;
+    private final int emptyFloorCost;
+
+    public EnergyAwareStrategy() {
+        this(new EtaStrategy(), DEFAULT_START_COST_MILLIS, DEFAULT_STOP_COST_MILLIS, DEFAULT_EMPTY_FLOOR_COST_MILLIS);
+    }
+
+    public EnergyAwareStrategy(DispatchStrategy base, int startCost, int stopCost, int emptyFloorCost) {
+        if (startCost < 0 || stopCost < 0 || emptyFloorCost < 0) {
+            throw new IllegalArgumentException("Штрафы энергосбережения не могут быть отрицательными: " +
+                    startCost + ", " + stopCost + ", " + emptyFloorCost);
+        }
+        this.base = base;
+        this.startCost = startCost;
+        this.stopCost = stopCost;
+        this.emptyFloorCost = emptyFloorCost;
+    }
+
+    @Override
+    public int lowerBound(int distance, Elevator.MotionProfile motion) {
+        return base.lowerBound(distance, motion);
+    }
+
+    @Override
+    public int score(Elevator elevator, Elevator.Snapshot state, ElevatorRequest request, FloorSet priorityFloors) {
+        long score = base.score(elevator, state, request, priorityFloors);
+        int floor = request.getCallFloor();
+
+        if (state.targetCount() == 0 && state.status() != Elevator.Status.MOVING) {
+            if (floor != state.floor()) {
+                score += startCost + (long) emptyFloorCost * Math.abs(floor - state.floor());
+            }
+        } else {
+            if (!elevator.hasTargetFloor(floor)) {
+                score += stopCost;
+            }
+            if (state.passengerCount() == 0) {
+                score += (long) emptyFloorCost * beyondRoute(elevator, state, floor);
+            }
+            score += loadCost(elevator, state, floor);
+        }
+
+        if (request.isCompleteRequest() && !elevator.hasTargetFloor(request.getDestinationFloor())) {
+            score += stopCost;
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 1, score);
+    }
+
+    // Занятая кабина выигрывает у стоящей только при свободных местах: иначе в час пик вызовы
+    // стекаются на едущие кабины, пассажиры не помещаются и запросы уходят на повтор.
+    private long loadCost(Elevator elevator, Elevator.Snapshot state, int floor) {
+        int capacity = Math.max(1, state.maxPassengers());
+        int predictedLoad = state.passengerCount() + elevator.boardingAt(floor);
+        long cost = (long) startCost * Math.min(predictedLoad, capacity) / capacity;
+        return predictedLoad >= capacity ? cost + startCost : cost;
+    }
+
+    private static int beyondRoute(Elevator elevator, Elevator.Snapshot state, int floor) {
+        int first = elevator.nextTargetAbove(0);
+        if (first == -1) {
+            return Math.abs(floor - state.floor());
+        }
+        int lowest = Math.min(state.floor(), first);
+        int highest = Math.max(state.floor(), elevator.nextTargetBelow(FloorSet.DEFAULT_CAPACITY - 1));
+        return floor < lowest ? lowest - floor : Math.max(0, floor - highest);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package elevator;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class EtaStrategy implements DispatchStrategy {
+    public static final double DEFAULT_DELAY_WEIGHT = 0.5;
+    public static final long FULL_CAR_PENALTY_MILLIS = 60_000;
+
+    private final double delayWeight;
+    private final Map<Elevator, RoutePlan> plans;
+
+    private record RoutePlan(long version, Elevator.MotionProfile motion, int[] stops, long[] arrivals,
+                             int[] loads, long startDelay) {
+    }
+
+    public EtaStrategy() {
+        this(DEFAULT_DELAY_WEIGHT);
+    }
+
+    public EtaStrategy(double delayWeight) {
+        this.delayWeight = delayWeight;
+        this.plans = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public int lowerBound(int distance, Elevator.MotionProfile motion) {
+        return delayWeight < 0 ? 0 : (int) Math.min(Integer.MAX_VALUE - 1, motion.travelMillis(distance));
+    }
+
+    @Override
+    public int score(Elevator elevator, Elevator.Snapshot state, ElevatorRequest request, FloorSet priorityFloors) {
+        RoutePlan plan = planFor(elevator);
+        Elevator.MotionProfile motion = plan.motion();
+        int floor = request.getCallFloor();
+        int callDirection = request.getDirection() == ElevatorRequest.Direction.UP ? 1 : -1;
+
+        long eta;
+        int delayedStops;
+        boolean newStop;
+        int load = state.passengerCount();
+
+        if (floor == state.floor() && state.status() != Elevator.Status.MOVING) {
+            eta = plan.startDelay();
+            delayedStops = plan.stops().length;
+            newStop = !elevator.hasTargetFloor(floor) && state.status() == Elevator.Status.STOPPED;
+        } else {
+            int position = state.floor();
+            long time = plan.startDelay();
+            int[] stops = plan.stops();
+            eta = -1;
+            delayedStops = 0;
+            newStop = true;
+
+            for (int i = 0; i < stops.length && eta == -1; i++) {
+                int stop = stops[i];
+                int segment = Integer.signum(stop - position);
+                boolean onSegment = segment > 0 ? floor > position && floor <= stop
+                        : floor < position && floor >= stop;
+                boolean turnsHere = i == stops.length - 1 || Integer.signum(stops[i + 1] - stop) != segment;
+
+                if (onSegment && (segment == callDirection || (turnsHere && floor == stop))) {
+                    eta = time + motion.travelMillis(Math.abs(floor - position));
+                    newStop = floor != stop;
+                    delayedStops = newStop ? stops.length - i : stops.length - i - 1;
+                } else {
+                    position = stop;
+                    time = plan.arrivals()[i] + motion.dwellMillis();
+                    load = plan.loads()[i];
+                }
+            }
+
+            if (eta == -1) {
+                eta = time + motion.travelMillis(Math.abs(floor - position));
+            }
+        }
+
+        double cost = eta;
+        if (newStop) {
+            cost += delayWeight * motion.dwellMillis() * delayedStops;
+        }
+        if (request.isCompleteRequest() && load >= state.maxPassengers()) {
+            cost += FULL_CAR_PENALTY_MILLIS;
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 1, cost);
+    }
+
+    private RoutePlan planFor(Elevator elevator) {
+        long version = elevator.getRouteVersion();
+        RoutePlan plan = plans.get(elevator);
+        if (plan == null || plan.version() != version || plan.motion() != elevator.getMotionProfile()) {
+            plan = buildPlan(elevator, elevator.getSnapshot(), version);
+            plans.put(elevator, plan);
+        }
+        return plan;
+    }
+
+    private static RoutePlan buildPlan(Elevator elevator, Elevator.Snapshot state, long version) {
+        int current = state.floor();
+        Elevator.MotionProfile motion = elevator.getMotionProfile();
+        long startDelay = state.status() == Elevator.Status.DOORS_OPEN
+                || state.status() == Elevator.Status.DOORS_CLOSING ? motion.doorsCloseMillis() : 0;
+
+        Elevator.Direction direction = state.direction();
+        if (direction == Elevator.Direction.IDLE) {
+            int first = elevator.nextTargetAbove(0);
+            if (first == -1) {
+                return new RoutePlan(version, motion, new int[0], new long[0], new int[0], startDelay);
+            }
+            direction = first > current ? Elevator.Direction.UP : Elevator.Direction.DOWN;
+        }
+
+        int[] stops = new int[Math.max(4, state.targetCount() + 1)];
+        int count = 0;
+
+        if (elevator.hasTargetFloor(current) && state.status() == Elevator.Status.STOPPED) {
+            stops[count++] = current;
+        }
+
+        for (int sweep = 0; sweep < 2; sweep++) {
+            boolean up = (direction == Elevator.Direction.UP) == (sweep == 0);
+            int floor = up ? elevator.nextTargetAbove(current + 1) : elevator.nextTargetBelow(current - 1);
+
+            while (floor != -1) {
+                if (count == stops.length) {
+                    stops = Arrays.copyOf(stops, count * 2);
+                }
+                stops[count++] = floor;
+                floor = up ? elevator.nextTargetAbove(floor + 1) : elevator.nextTargetBelow(floor - 1);
+            }
+        }
+
+        stops = Arrays.copyOf(stops, count);
+        long[] arrivals = new long[count];
+        int[] loads = new int[count];
+        long time = startDelay;
+        int position = current;
+        int load = state.passengerCount();
+
+        for (int i = 0; i < count; i++) {
+            time += motion.travelMillis(Math.abs(stops[i] - position));
+            arrivals[i] = time;
+            time += motion.dwellMillis();
+            position = stops[i];
+            load = Math.max(0, load - elevator.alightingAt(position));
+            load = Math.min(state.maxPassengers(), load + elevator.boardingAt(position));
+            loads[i] = load;
+        }
+
+        return new RoutePlan(version, motion, stops, arrivals, loads, startDelay);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+package elevator;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+public class EventLog {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final Scheduler scheduler;
+    private final EventSink journal;
+    private final List<EventSink> sinks;
+    private final boolean enabled;
+    private final int mask;
+    private final AtomicReferenceArray<ElevatorEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    private final AtomicLong consumed;
+    private final AtomicLong dropped;
+    private final Thread consumer;
+    private long head;
+    private volatile boolean running;
+
+    public EventLog(Scheduler scheduler, EventSink... sinks) {
+        this(scheduler, DEFAULT_CAPACITY, sinks);
+    }
+
+    public EventLog(Scheduler scheduler, int capacity, EventSink... sinks) {
+        this(scheduler, capacity, null, sinks);
+    }
+
+    private EventLog(Scheduler scheduler, int capacity, EventSink journal, EventSink[] sinks) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        for (EventSink sink : sinks) {
+            if (sink instanceof JournalEventSink) {
+                throw new IllegalArgumentException("Журнал подключается синхронно через EventLog.journaled");
+            }
+        }
+
+        this.scheduler = scheduler;
+        this.journal = journal;
+        this.sinks = List.of(sinks);
+        this.enabled = journal != null || sinks.length > 0;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.tail = new AtomicLong();
+        this.consumed = new AtomicLong();
+        this.dropped = new AtomicLong();
+        this.head = 0;
+        this.running = sinks.length > 0;
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+
+        if (running) {
+            this.consumer = new Thread(this::drain, "elevator-events");
+            consumer.setDaemon(true);
+            consumer.start();
+        } else {
+            this.consumer = null;
+        }
+    }
+
+    public static EventLog disabled() {
+        return new EventLog(null);
+    }
+
+    public static EventLog journaled(Scheduler scheduler, JournalEventSink journal, EventSink... sinks) {
+        return new EventLog(scheduler, DEFAULT_CAPACITY, journal, sinks);
+    }
+
+    public static EventLog journaled(Scheduler scheduler, int capacity, JournalEventSink journal,
+                                     EventSink... sinks) {
+        return new EventLog(scheduler, capacity, journal, sinks);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean publishRequest(ElevatorEvent.Type type, int elevatorId, ElevatorRequest request) {
+        return publishRequest(type, elevatorId, -1, request);
+    }
+
+    public boolean publishRequest(ElevatorEvent.Type type, int elevatorId, int floor, ElevatorRequest request) {
+        return !enabled || publish(new ElevatorEvent(type, scheduler.now(), elevatorId, floor, request, null));
+    }
+
+    public void publishMotion(ElevatorEvent.Type type, int elevatorId, int floor, Elevator.Direction direction) {
+        if (enabled) {
+            publish(new ElevatorEvent(type, scheduler.now(), elevatorId, floor, null, direction));
+        }
+    }
+
+    public void publishNotice(ElevatorEvent.Type type, int elevatorId, int floor) {
+        if (enabled) {
+            publish(new ElevatorEvent(type, scheduler.now(), elevatorId, floor, null, null));
+        }
+    }
+
+    private boolean publish(ElevatorEvent event) {
+        boolean journaled = true;
+        if (journal != null) {
+            try {
+                journal.accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("Ошибка записи журнала: " + e);
+                journaled = false;
+            }
+        }
+        if (consumer != null) {
+            offer(event);
+        }
+        return journaled;
+    }
+
+    private void offer(ElevatorEvent event) {
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                dropped.incrementAndGet();
+                return;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private ElevatorEvent poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        ElevatorEvent event = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return event;
+    }
+
+    private void drain() {
+        boolean unflushed = false;
+
+        while (running || consumed.get() < tail.get()) {
+            ElevatorEvent event = poll();
+
+            if (event == null) {
+                if (unflushed) {
+                    for (EventSink sink : sinks) {
+                        sink.flush();
+                    }
+                    unflushed = false;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            for (EventSink sink : sinks) {
+                try {
+                    sink.accept(event);
+                } catch (RuntimeException e) {
+                    System.err.println("Ошибка приемника событий: " + e);
+                }
+            }
+            consumed.incrementAndGet();
+            unflushed = true;
+        }
+    }
+
+    public void flush() {
+        if (journal != null) {
+            journal.flush();
+        }
+        if (consumer == null || Thread.currentThread() == consumer) {
+            return;
+        }
+
+        long target = tail.get();
+        while (consumed.get() < target && consumer.isAlive()) {
+            LockSupport.unpark(consumer);
+            Thread.onSpinWait();
+        }
+        for (EventSink sink : sinks) {
+            sink.flush();
+        }
+    }
+
+    public long getPublishedCount() {
+        return tail.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public void close() {
+        if (journal != null) {
+            journal.close();
+        }
+        if (consumer == null || !running) {
+            return;
+        }
+
+        flush();
+        running = false;
+        LockSupport.unpark(consumer);
+
+        try {
+            consumer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (EventSink sink : sinks) {
+            sink.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package elevator;
+
+public interface EventSink {
+    void accept(ElevatorEvent event);
+
+    default void flush() {
+    }
+
+    default void close() {
+        flush();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package elevator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class FileEventSink implements EventSink {
+    private final BufferedWriter writer;
+
+    public FileEventSink(Path path) throws IOException {
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        writer.write("time\ttype\televator\tfloor\tcall\tdestination\tdirection");
+        writer.newLine();
+    }
+
+    @Override
+    public void accept(ElevatorEvent event) {
+        ElevatorRequest request = event.request();
+
+        try {
+            writer.write(Long.toString(event.time()));
+            writer.write('\t');
+            writer.write(event.type().name());
+            writer.write('\t');
+            writer.write(Integer.toString(event.elevatorId()));
+            writer.write('\t');
+            writer.write(Integer.toString(event.floor()));
+            writer.write('\t');
+            writer.write(Integer.toString(request != null ? request.getCallFloor() : -1));
+            writer.write('\t');
+            writer.write(Integer.toString(request != null ? request.getDestinationFloor() : -1));
+            writer.write('\t');
+            if (event.direction() != null) {
+                writer.write(event.direction().name());
+            } else if (request != null && request.getDirection() != null) {
+                writer.write(request.getDirection().name());
+            }
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
\ No newline at end of file
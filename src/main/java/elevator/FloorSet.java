@@ -0,0 +1,189 @@
+package elevator;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class FloorSet extends AbstractSet<Integer> {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final AtomicLongArray words;
+    private final int capacity;
+
+    public FloorSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FloorSet(int capacity) {
+        this.capacity = Math.max(64, (capacity + 63) & ~63);
+        this.words = new AtomicLongArray(this.capacity >>> 6);
+    }
+
+    public boolean add(int floor) {
+        if (floor < 0 || floor >= capacity) {
+            throw new IllegalArgumentException("Этаж " + floor + " вне диапазона 0.." + (capacity - 1));
+        }
+
+        int index = floor >>> 6;
+        long mask = 1L << floor;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(index, word, word | mask));
+        return true;
+    }
+
+    public boolean remove(int floor) {
+        if (floor < 0 || floor >= capacity) {
+            return false;
+        }
+
+        int index = floor >>> 6;
+        long mask = 1L << floor;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(index, word, word & ~mask));
+        return true;
+    }
+
+    public boolean contains(int floor) {
+        return floor >= 0 && floor < capacity && (words.get(floor >>> 6) & (1L << floor)) != 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int ceiling(int floor) {
+        int from = Math.max(0, floor);
+        int index = from >>> 6;
+        if (index >= words.length()) {
+            return -1;
+        }
+
+        long word = words.get(index) & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index == words.length()) {
+                return -1;
+            }
+            word = words.get(index);
+        }
+    }
+
+    public int floor(int floor) {
+        if (floor < 0) {
+            return -1;
+        }
+
+        int index = floor >>> 6;
+        long word;
+        if (index >= words.length()) {
+            index = words.length() - 1;
+            word = words.get(index);
+        } else {
+            word = words.get(index) & (-1L >>> (63 - (floor & 63)));
+        }
+
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + 63 - Long.numberOfLeadingZeros(word);
+            }
+            if (index-- == 0) {
+                return -1;
+            }
+            word = words.get(index);
+        }
+    }
+
+    public int first() {
+        return ceiling(0);
+    }
+
+    public int last() {
+        return floor(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (int i = 0; i < words.length(); i++) {
+            if (words.get(i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        int count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0);
+        }
+    }
+
+    @Override
+    public boolean add(Integer floor) {
+        return add(floor.intValue());
+    }
+
+    @Override
+    public boolean remove(Object floor) {
+        return floor instanceof Integer && remove(((Integer) floor).intValue());
+    }
+
+    @Override
+    public boolean contains(Object floor) {
+        return floor instanceof Integer && contains(((Integer) floor).intValue());
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+            private int next = ceiling(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next != -1;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == -1) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = ceiling(next + 1);
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == -1) {
+                    throw new IllegalStateException();
+                }
+                FloorSet.this.remove(last);
+                last = -1;
+            }
+        };
+    }
+}
\ No newline at end of file
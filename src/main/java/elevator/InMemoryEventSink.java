@@ -0,0 +1,35 @@
+package elevator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class InMemoryEventSink implements EventSink {
+    private final List<ElevatorEvent> events;
+
+    public InMemoryEventSink() {
+        this.events = new ArrayList<>();
+    }
+
+    @Override
+    public synchronized void accept(ElevatorEvent event) {
+        events.add(event);
+    }
+
+    public synchronized List<ElevatorEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized List<ElevatorEvent> getEvents(ElevatorEvent.Type type) {
+        List<ElevatorEvent> result = new ArrayList<>();
+        for (ElevatorEvent event : events) {
+            if (event.type() == type) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
\ No newline at end of file
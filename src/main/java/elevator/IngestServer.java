@@ -0,0 +1,790 @@
+package elevator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+public class IngestServer implements Closeable {
+    public static final int DEFAULT_PORT = 7070;
+    static final int MAGIC = 0x454C4E31;
+    static final int CALLS = 1;
+    static final int SUBSCRIBE = 2;
+    static final int ACK = 0x81;
+    static final int STATE = 0x82;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int FRAME_RESERVE = 128;
+
+    private static final byte[] KEY_FLOOR = ascii("floor");
+    private static final byte[] KEY_DIRECTION = ascii("direction");
+    private static final byte[] KEY_FROM = ascii("from");
+    private static final byte[] KEY_TO = ascii("to");
+    private static final byte[] KEY_CAR = ascii("car");
+    private static final byte[] KEY_SUBSCRIBE = ascii("subscribe");
+    private static final byte[] JSON_ACCEPTED = ascii("{\"accepted\":");
+    private static final byte[] JSON_REJECTED = ascii(",\"rejected\":");
+    private static final byte[] JSON_CAR = ascii("{\"car\":");
+    private static final byte[] JSON_FLOOR = ascii(",\"floor\":");
+    private static final byte[] JSON_DIRECTION = ascii(",\"direction\":\"");
+    private static final byte[] JSON_STATUS = ascii("\",\"status\":\"");
+    private static final byte[] JSON_PASSENGERS = ascii("\",\"passengers\":");
+    private static final byte[] JSON_CAPACITY = ascii(",\"capacity\":");
+    private static final byte[] JSON_TARGETS = ascii(",\"targets\":");
+    private static final byte[][] DIRECTION_NAMES = names(Elevator.Direction.values());
+    private static final byte[][] STATUS_NAMES = names(Elevator.Status.values());
+
+    private final Predicate<ElevatorRequest> submitter;
+    private final List<ElevatorController> controllers;
+    private final InetSocketAddress address;
+    private final JsonCall json;
+    private final Queue<Runnable> deliveries;
+    private final Executor selectorExecutor;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread thread;
+    private volatile boolean running;
+    private volatile long accepted;
+    private volatile long rejected;
+    private int batchAccepted;
+    private int batchRejected;
+
+    private enum Protocol {
+        UNKNOWN, BINARY, JSON
+    }
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in;
+        private final ByteBuffer out;
+        private final Map<Integer, Elevator.Snapshot> unsent;
+        private final List<StatePublisher.Subscription> subscriptions;
+        private SelectionKey key;
+        private Protocol protocol;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.in = ByteBuffer.allocate(BUFFER_SIZE);
+            this.out = ByteBuffer.allocate(BUFFER_SIZE);
+            this.unsent = new LinkedHashMap<>();
+            this.subscriptions = new ArrayList<>();
+            this.protocol = Protocol.UNKNOWN;
+        }
+    }
+
+    private static final class JsonCall {
+        private int floor;
+        private ElevatorRequest.Direction direction;
+        private int from;
+        private int to;
+        private int car;
+        private boolean subscribe;
+
+        private void reset() {
+            floor = -1;
+            direction = null;
+            from = -1;
+            to = -1;
+            car = 0;
+            subscribe = false;
+        }
+    }
+
+    public IngestServer(ElevatorController controller, InetSocketAddress address) {
+        this(controller::submitRequest, List.of(controller), address);
+    }
+
+    public IngestServer(SiteController site, InetSocketAddress address) {
+        this(site::submitRequest, controllersOf(site), address);
+    }
+
+    IngestServer(Predicate<ElevatorRequest> submitter, List<ElevatorController> controllers,
+                 InetSocketAddress address) {
+        this.submitter = submitter;
+        this.controllers = List.copyOf(controllers);
+        this.address = address;
+        this.json = new JsonCall();
+        this.deliveries = new ConcurrentLinkedQueue<>();
+        this.selectorExecutor = task -> {
+            deliveries.add(task);
+            selector.wakeup();
+        };
+        this.running = false;
+        this.accepted = 0;
+        this.rejected = 0;
+    }
+
+    private static List<ElevatorController> controllersOf(SiteController site) {
+        List<ElevatorController> controllers = new ArrayList<>();
+        for (SiteController.Bank bank : site.getBanks()) {
+            controllers.add(bank.controller());
+        }
+        return controllers;
+    }
+
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        thread = new Thread(this::run, "ingest-server");
+        thread.start();
+    }
+
+    public InetSocketAddress getAddress() throws IOException {
+        return (InetSocketAddress) server.getLocalAddress();
+    }
+
+    public long getAcceptedCount() {
+        return accepted;
+    }
+
+    public long getRejectedCount() {
+        return rejected;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+
+                Runnable delivery;
+                while ((delivery = deliveries.poll()) != null) {
+                    delivery.run();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    unsubscribe(connection);
+                }
+                closeQuietly(key.channel());
+            }
+            deliveries.clear();
+            closeQuietly(selector);
+            closeQuietly(server);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (!key.isValid()) {
+                return;
+            }
+            if (key.isAcceptable()) {
+                SocketChannel channel = server.accept();
+                if (channel != null) {
+                    channel.configureBlocking(false);
+                    Connection connection = new Connection(channel);
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                }
+                return;
+            }
+
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable() && connection.channel.read(connection.in) == -1) {
+                disconnect(key);
+                return;
+            }
+            if (key.isWritable()) {
+                flush(connection);
+            }
+            if (!process(connection)) {
+                disconnect(key);
+                return;
+            }
+            putStates(connection);
+            flush(connection);
+            updateInterest(key, connection);
+        } catch (IOException e) {
+            disconnect(key);
+        }
+    }
+
+    private boolean process(Connection connection) {
+        ByteBuffer in = connection.in;
+        in.flip();
+        try {
+            if (connection.protocol == Protocol.UNKNOWN) {
+                if (!in.hasRemaining()) {
+                    return true;
+                }
+                byte first = in.get(in.position());
+                if (first == '{' || first == '[' || Character.isWhitespace(first)) {
+                    connection.protocol = Protocol.JSON;
+                } else if (in.remaining() < Integer.BYTES) {
+                    return true;
+                } else if (in.getInt() == MAGIC) {
+                    connection.protocol = Protocol.BINARY;
+                } else {
+                    return false;
+                }
+            }
+            return connection.protocol == Protocol.BINARY ? readFrames(connection) : readLines(connection);
+        } finally {
+            in.compact();
+        }
+    }
+
+    private boolean readFrames(Connection connection) {
+        ByteBuffer in = connection.in;
+        while (in.hasRemaining() && connection.out.remaining() >= FRAME_RESERVE) {
+            int start = in.position();
+            int length = getVarInt(in, in.limit());
+            if (length == -1) {
+                in.position(start);
+                return in.remaining() < 3;
+            }
+            if (length == 0 || length > BUFFER_SIZE - 3) {
+                return false;
+            }
+            if (in.remaining() < length) {
+                in.position(start);
+                return true;
+            }
+
+            int end = in.position() + length;
+            int type = in.get() & 0xFF;
+            batchAccepted = 0;
+            batchRejected = 0;
+
+            if (type == CALLS) {
+                if (!readCalls(in, end)) {
+                    return false;
+                }
+            } else if (type == SUBSCRIBE && in.position() == end) {
+                subscribe(connection);
+            } else {
+                return false;
+            }
+            putAck(connection.out, batchAccepted, batchRejected);
+        }
+        return true;
+    }
+
+    private boolean readCalls(ByteBuffer in, int end) {
+        while (in.position() < end) {
+            int kind = in.get();
+            int floor = getVarInt(in, end);
+            if (floor == -1) {
+                return false;
+            }
+
+            switch (kind) {
+                case TraceWriter.HALL_UP:
+                    submit(floor, ElevatorRequest.Direction.UP, -1, 0);
+                    break;
+                case TraceWriter.HALL_DOWN:
+                    submit(floor, ElevatorRequest.Direction.DOWN, -1, 0);
+                    break;
+                case TraceWriter.CAR_CALL: {
+                    int car = getVarInt(in, end);
+                    if (car == -1) {
+                        return false;
+                    }
+                    submit(-1, null, floor, car);
+                    break;
+                }
+                case TraceWriter.COMPLETE: {
+                    int destination = getVarInt(in, end);
+                    if (destination == -1) {
+                        return false;
+                    }
+                    submit(floor, null, destination, 0);
+                    break;
+                }
+                default:
+                    return false;
+            }
+        }
+        return in.position() == end;
+    }
+
+    private boolean readLines(Connection connection) {
+        ByteBuffer in = connection.in;
+        while (in.hasRemaining() && connection.out.remaining() >= FRAME_RESERVE) {
+            int start = in.position();
+            int end = start;
+            while (end < in.limit() && in.get(end) != '\n') {
+                end++;
+            }
+            if (end == in.limit()) {
+                return in.limit() < in.capacity() || start > 0;
+            }
+
+            in.position(end + 1);
+            batchAccepted = 0;
+            batchRejected = 0;
+            int position = skipSpaces(in, start, end);
+            if (position == end) {
+                continue;
+            }
+
+            if (readJson(connection, in, position, end, false)) {
+                readJson(connection, in, position, end, true);
+            } else {
+                batchRejected++;
+                rejected++;
+            }
+            putJsonAck(connection.out, batchAccepted, batchRejected);
+        }
+        return true;
+    }
+
+    private boolean readJson(Connection connection, ByteBuffer in, int position, int end, boolean submit) {
+        if (in.get(position) != '[') {
+            position = readObject(connection, in, position, end, submit);
+            return position != -1 && skipSpaces(in, position, end) == end;
+        }
+
+        position = skipSpaces(in, position + 1, end);
+        if (position < end && in.get(position) == ']') {
+            return skipSpaces(in, position + 1, end) == end;
+        }
+        while (true) {
+            position = readObject(connection, in, position, end, submit);
+            if (position == -1) {
+                return false;
+            }
+            position = skipSpaces(in, position, end);
+            if (position == end) {
+                return false;
+            }
+            byte separator = in.get(position);
+            if (separator == ']') {
+                return skipSpaces(in, position + 1, end) == end;
+            }
+            if (separator != ',') {
+                return false;
+            }
+            position = skipSpaces(in, position + 1, end);
+        }
+    }
+
+    private int readObject(Connection connection, ByteBuffer in, int position, int end, boolean submit) {
+        JsonCall call = json;
+        call.reset();
+        position = skipSpaces(in, position, end);
+        if (position == end || in.get(position) != '{') {
+            return -1;
+        }
+        position = skipSpaces(in, position + 1, end);
+        if (position < end && in.get(position) == '}') {
+            return -1;
+        }
+
+        while (true) {
+            if (position == end || in.get(position) != '"') {
+                return -1;
+            }
+            int keyStart = position + 1;
+            int keyEnd = indexOf(in, '"', keyStart, end);
+            if (keyEnd == -1) {
+                return -1;
+            }
+            position = skipSpaces(in, keyEnd + 1, end);
+            if (position == end || in.get(position) != ':') {
+                return -1;
+            }
+            position = skipSpaces(in, position + 1, end);
+            if (position == end) {
+                return -1;
+            }
+
+            if (equals(in, keyStart, keyEnd, KEY_DIRECTION)) {
+                if (in.get(position) != '"') {
+                    return -1;
+                }
+                int valueEnd = indexOf(in, '"', position + 1, end);
+                if (valueEnd == -1) {
+                    return -1;
+                }
+                call.direction = direction(in, position + 1, valueEnd);
+                if (call.direction == null) {
+                    return -1;
+                }
+                position = valueEnd + 1;
+            } else if (equals(in, keyStart, keyEnd, KEY_SUBSCRIBE)) {
+                if (!matches(in, position, end, "true")) {
+                    return -1;
+                }
+                call.subscribe = true;
+                position += 4;
+            } else {
+                int valueEnd = position;
+                int value = 0;
+                while (valueEnd < end && in.get(valueEnd) >= '0' && in.get(valueEnd) <= '9'
+                        && valueEnd - position < 6) {
+                    value = value * 10 + in.get(valueEnd) - '0';
+                    valueEnd++;
+                }
+                if (valueEnd == position) {
+                    return -1;
+                }
+                position = valueEnd;
+
+                if (equals(in, keyStart, keyEnd, KEY_FLOOR)) {
+                    call.floor = value;
+                } else if (equals(in, keyStart, keyEnd, KEY_FROM)) {
+                    call.from = value;
+                } else if (equals(in, keyStart, keyEnd, KEY_TO)) {
+                    call.to = value;
+                } else if (equals(in, keyStart, keyEnd, KEY_CAR)) {
+                    call.car = value;
+                } else {
+                    return -1;
+                }
+            }
+
+            position = skipSpaces(in, position, end);
+            if (position == end) {
+                return -1;
+            }
+            byte next = in.get(position);
+            if (next == '}') {
+                break;
+            }
+            if (next != ',') {
+                return -1;
+            }
+            position = skipSpaces(in, position + 1, end);
+        }
+
+        if (!call.subscribe && (call.floor == -1 || call.direction == null) && call.to == -1) {
+            return -1;
+        }
+        if (!submit) {
+            return position + 1;
+        }
+
+        if (call.subscribe) {
+            subscribe(connection);
+        } else if (call.floor != -1 && call.direction != null) {
+            submit(call.floor, call.direction, -1, 0);
+        } else if (call.from != -1) {
+            submit(call.from, null, call.to, 0);
+        } else {
+            submit(-1, null, call.to, call.car);
+        }
+        return position + 1;
+    }
+
+    private void submit(int callFloor, ElevatorRequest.Direction direction, int destinationFloor, int car) {
+        ElevatorRequest request;
+        if ((callFloor != -1 && !isFloor(callFloor)) || (destinationFloor != -1 && !isFloor(destinationFloor))
+                || callFloor == destinationFloor) {
+            request = null;
+        } else if (direction != null) {
+            request = new ElevatorRequest(callFloor, direction);
+        } else if (callFloor != -1) {
+            request = new ElevatorRequest(callFloor, destinationFloor);
+        } else if (car != 0) {
+            request = ElevatorRequest.carCall(car, destinationFloor);
+        } else {
+            request = new ElevatorRequest(destinationFloor);
+        }
+
+        boolean ok = request != null && submitter.test(request);
+        if (ok) {
+            batchAccepted++;
+            accepted++;
+        } else {
+            batchRejected++;
+            rejected++;
+        }
+    }
+
+    private static boolean isFloor(int floor) {
+        return floor >= 0 && floor < FloorSet.DEFAULT_CAPACITY;
+    }
+
+    private void subscribe(Connection connection) {
+        if (!connection.subscriptions.isEmpty()) {
+            return;
+        }
+        for (ElevatorController controller : controllers) {
+            connection.subscriptions.add(controller.subscribe(change -> stateChanged(connection, change),
+                    selectorExecutor));
+        }
+    }
+
+    private void stateChanged(Connection connection, StatePublisher.CarChange change) {
+        SelectionKey key = connection.key;
+        if (!key.isValid()) {
+            return;
+        }
+        connection.unsent.put(change.elevatorId(), change.state());
+        putStates(connection);
+        try {
+            flush(connection);
+            updateInterest(key, connection);
+        } catch (IOException e) {
+            disconnect(key);
+        }
+    }
+
+    private void putStates(Connection connection) {
+        Iterator<Map.Entry<Integer, Elevator.Snapshot>> states = connection.unsent.entrySet().iterator();
+        while (states.hasNext() && connection.out.remaining() >= FRAME_RESERVE) {
+            Map.Entry<Integer, Elevator.Snapshot> state = states.next();
+            states.remove();
+            if (connection.protocol == Protocol.JSON) {
+                putJsonState(connection.out, state.getKey(), state.getValue());
+            } else {
+                putState(connection.out, state.getKey(), state.getValue());
+            }
+        }
+    }
+
+    private static void unsubscribe(Connection connection) {
+        for (StatePublisher.Subscription subscription : connection.subscriptions) {
+            subscription.close();
+        }
+        connection.subscriptions.clear();
+    }
+
+    private static void putAck(ByteBuffer out, int accepted, int rejected) {
+        int lengthAt = out.position();
+        out.put((byte) 0);
+        out.put((byte) ACK);
+        putVarInt(out, accepted);
+        putVarInt(out, rejected);
+        out.put(lengthAt, (byte) (out.position() - lengthAt - 1));
+    }
+
+    private static void putState(ByteBuffer out, int id, Elevator.Snapshot state) {
+        int lengthAt = out.position();
+        out.put((byte) 0);
+        out.put((byte) STATE);
+        putVarInt(out, id);
+        putVarInt(out, state.floor());
+        out.put((byte) state.direction().ordinal());
+        out.put((byte) state.status().ordinal());
+        putVarInt(out, state.passengerCount());
+        putVarInt(out, state.maxPassengers());
+        putVarInt(out, state.targetCount());
+        out.put(lengthAt, (byte) (out.position() - lengthAt - 1));
+    }
+
+    private static void putJsonAck(ByteBuffer out, int accepted, int rejected) {
+        out.put(JSON_ACCEPTED);
+        putAsciiInt(out, accepted);
+        out.put(JSON_REJECTED);
+        putAsciiInt(out, rejected);
+        out.put((byte) '}').put((byte) '\n');
+    }
+
+    private static void putJsonState(ByteBuffer out, int id, Elevator.Snapshot state) {
+        out.put(JSON_CAR);
+        putAsciiInt(out, id);
+        out.put(JSON_FLOOR);
+        putAsciiInt(out, state.floor());
+        out.put(JSON_DIRECTION).put(DIRECTION_NAMES[state.direction().ordinal()]);
+        out.put(JSON_STATUS).put(STATUS_NAMES[state.status().ordinal()]);
+        out.put(JSON_PASSENGERS);
+        putAsciiInt(out, state.passengerCount());
+        out.put(JSON_CAPACITY);
+        putAsciiInt(out, state.maxPassengers());
+        out.put(JSON_TARGETS);
+        putAsciiInt(out, state.targetCount());
+        out.put((byte) '}').put((byte) '\n');
+    }
+
+    private static void flush(Connection connection) throws IOException {
+        ByteBuffer out = connection.out;
+        if (out.position() == 0) {
+            return;
+        }
+        out.flip();
+        try {
+            connection.channel.write(out);
+        } finally {
+            out.compact();
+        }
+    }
+
+    private static void updateInterest(SelectionKey key, Connection connection) {
+        int ops = 0;
+        if (connection.out.position() > 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        if (connection.out.remaining() >= FRAME_RESERVE && connection.in.hasRemaining()) {
+            ops |= SelectionKey.OP_READ;
+        }
+        key.interestOps(ops);
+    }
+
+    private void disconnect(SelectionKey key) {
+        if (key.attachment() instanceof Connection connection) {
+            unsubscribe(connection);
+        }
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Ошибка при закрытии соединения: " + e);
+        }
+    }
+
+    private static int getVarInt(ByteBuffer in, int end) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (in.position() >= end) {
+                return -1;
+            }
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value < 0 ? -1 : value;
+            }
+        }
+        return -1;
+    }
+
+    private static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static void putAsciiInt(ByteBuffer out, int value) {
+        if (value < 0) {
+            out.put((byte) '-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static int skipSpaces(ByteBuffer in, int position, int end) {
+        while (position < end && Character.isWhitespace(in.get(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static int indexOf(ByteBuffer in, char c, int position, int end) {
+        for (; position < end; position++) {
+            if (in.get(position) == c) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean equals(ByteBuffer in, int start, int end, byte[] key) {
+        if (end - start != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (in.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(ByteBuffer in, int position, int end, String literal) {
+        if (end - position < literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (in.get(position + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ElevatorRequest.Direction direction(ByteBuffer in, int start, int end) {
+        if (end - start == 2 && (in.get(start) | 0x20) == 'u' && (in.get(start + 1) | 0x20) == 'p') {
+            return ElevatorRequest.Direction.UP;
+        }
+        if (end - start == 4 && (in.get(start) | 0x20) == 'd' && (in.get(start + 1) | 0x20) == 'o'
+                && (in.get(start + 2) | 0x20) == 'w' && (in.get(start + 3) | 0x20) == 'n') {
+            return ElevatorRequest.Direction.DOWN;
+        }
+        return null;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] names(Enum<?>[] values) {
+        byte[][] names = new byte[values.length][];
+        for (Enum<?> value : values) {
+            names[value.ordinal()] = ascii(value.name());
+        }
+        return names;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int cars = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 12;
+
+        WallClockScheduler scheduler = WallClockScheduler.pooled();
+        ElevatorController controller = new ElevatorController(cars, capacity, scheduler, EventLog.disabled());
+        IngestServer server = new IngestServer(controller, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server.start();
+
+        System.out.println("Прием вызовов на " + server.getAddress() + ", лифтов " + cars + ", вместимость " + capacity);
+        controller.scheduleMetricsDump(10_000);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            System.out.printf("Принято вызовов: %d, отклонено: %d%n",
+                    server.getAcceptedCount(), server.getRejectedCount());
+            controller.shutdown();
+        }));
+    }
+}
\ No newline at end of file
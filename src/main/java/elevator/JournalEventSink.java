@@ -0,0 +1,547 @@
+package elevator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class JournalEventSink implements EventSink {
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 50_000;
+    private static final int JOURNAL_MAGIC = 0x454C4A4E;
+    private static final int SNAPSHOT_MAGIC = 0x454C534E;
+    private static final int VERSION = 2;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 36;
+    private static final int BUFFER_RECORDS = 2048;
+    private static final int MAX_BATCHES = 8;
+    private static final ElevatorEvent.Type[] TYPES = ElevatorEvent.Type.values();
+    private static final ElevatorRequest.Direction[] DIRECTIONS = ElevatorRequest.Direction.values();
+
+    private final Path journalPath;
+    private final Path snapshotPath;
+    private final int snapshotInterval;
+    private final Map<ElevatorRequest, Entry> entries;
+    private final Map<Integer, Integer> carFloors;
+    private final Recovery recovery;
+    private final ArrayDeque<Batch> batches;
+    private final ArrayDeque<ByteBuffer> spare;
+    private final FileChannel channel;
+    private final Thread writer;
+    private ByteBuffer buffer;
+    private long nextId;
+    private long generation;
+    private int sinceSnapshot;
+    private boolean writeRequested;
+    private boolean closing;
+    private long sealed;
+    private long written;
+    private IOException failure;
+
+    public record PendingRequest(ElevatorRequest request, int elevatorId, boolean onBoard, int transferDestination) {
+    }
+
+    public record Recovery(Map<Integer, Integer> carFloors, List<PendingRequest> requests) {
+        public boolean isEmpty() {
+            return carFloors.isEmpty() && requests.isEmpty();
+        }
+    }
+
+    private record Batch(ByteBuffer records, ByteBuffer snapshot, long generation) {
+    }
+
+    private static final class Entry {
+        private final long id;
+        private final ElevatorRequest request;
+        private int elevatorId;
+        private boolean onBoard;
+        private int transferDestination;
+
+        private Entry(long id, ElevatorRequest request) {
+            this.id = id;
+            this.request = request;
+            this.elevatorId = -1;
+            this.onBoard = false;
+            this.transferDestination = -1;
+        }
+    }
+
+    public JournalEventSink(Path directory) throws IOException {
+        this(directory, DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    public JournalEventSink(Path directory, int snapshotInterval) throws IOException {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Интервал снимков должен быть положительным: " + snapshotInterval);
+        }
+        Files.createDirectories(directory);
+
+        this.journalPath = directory.resolve("journal.bin");
+        this.snapshotPath = directory.resolve("snapshot.bin");
+        this.snapshotInterval = snapshotInterval;
+        this.entries = new IdentityHashMap<>();
+        this.carFloors = new TreeMap<>();
+        this.batches = new ArrayDeque<>();
+        this.spare = new ArrayDeque<>();
+        this.buffer = ByteBuffer.allocateDirect(RECORD_SIZE * BUFFER_RECORDS);
+        this.nextId = 1;
+        this.generation = 0;
+
+        Map<Long, Entry> recovered = new LinkedHashMap<>();
+        readSnapshot(recovered);
+        readJournal(recovered);
+
+        List<PendingRequest> pending = new ArrayList<>();
+        for (Entry entry : recovered.values()) {
+            entries.put(entry.request, entry);
+            pending.add(new PendingRequest(entry.request, entry.elevatorId, entry.onBoard, entry.transferDestination));
+        }
+        this.recovery = new Recovery(Collections.unmodifiableMap(new TreeMap<>(carFloors)),
+                Collections.unmodifiableList(pending));
+
+        this.channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        writeSnapshot(encodeSnapshot(), generation);
+
+        this.writer = new Thread(this::writeLoop, "elevator-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public Recovery getRecovery() {
+        return recovery;
+    }
+
+    // Запись на диск выполняет отдельный поток группами: здесь событие только кодируется в буфер,
+    // поэтому лифты и диспетчер не ждут ввода-вывода под своими блокировками.
+    @Override
+    public synchronized void accept(ElevatorEvent event) {
+        ElevatorEvent.Type type = event.type();
+        ElevatorRequest request = event.request();
+
+        if (failure != null || closing) {
+            if (request != null) {
+                throw new UncheckedIOException(failure != null ? failure : new IOException("Журнал закрыт"));
+            }
+            return;
+        }
+        if (request == null) {
+            if (type == ElevatorEvent.Type.ARRIVED || type == ElevatorEvent.Type.FLOOR_PASSED) {
+                carFloors.put(event.elevatorId(), event.floor());
+                append(type, event.time(), event.elevatorId(), event.floor(), 0, -1, -1, null, -1);
+            }
+            return;
+        }
+
+        Entry entry = entries.get(request);
+        if (entry == null) {
+            if (!opensEntry(type)) {
+                return;
+            }
+            entry = new Entry(nextId++, request);
+            entries.put(request, entry);
+        }
+
+        if (!apply(entry, type, event.elevatorId(), event.floor())) {
+            return;
+        }
+        if (isTerminal(type)) {
+            entries.remove(request);
+        }
+        append(type, event.time(), event.elevatorId(), event.floor(), entry.id,
+                request.getCallFloor(), request.getDestinationFloor(), request.getDirection(), request.getElevatorId());
+        if (!writeRequested) {
+            writeRequested = true;
+            notifyAll();
+        }
+    }
+
+    private static boolean opensEntry(ElevatorEvent.Type type) {
+        return type == ElevatorEvent.Type.REQUEST_RECEIVED || type == ElevatorEvent.Type.TRANSFER_PLANNED;
+    }
+
+    private static boolean apply(Entry entry, ElevatorEvent.Type type, int elevatorId, int floor) {
+        switch (type) {
+            case REQUEST_RECEIVED:
+            case REQUEST_REQUEUED:
+            case OVERFLOW:
+                entry.elevatorId = -1;
+                entry.onBoard = false;
+                return true;
+            case REQUEST_ASSIGNED:
+                entry.elevatorId = elevatorId;
+                return true;
+            case PASSENGER_BOARDED:
+                entry.elevatorId = elevatorId;
+                entry.onBoard = true;
+                return true;
+            case TRANSFER_PLANNED:
+                entry.transferDestination = floor;
+                return true;
+            case REQUEST_COMPLETED:
+            case REQUEST_DROPPED:
+            case REQUEST_REJECTED:
+            case REQUEST_UNSERVED:
+            case REQUEST_COALESCED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isTerminal(ElevatorEvent.Type type) {
+        return type == ElevatorEvent.Type.REQUEST_COMPLETED
+                || type == ElevatorEvent.Type.REQUEST_DROPPED
+                || type == ElevatorEvent.Type.REQUEST_REJECTED
+                || type == ElevatorEvent.Type.REQUEST_UNSERVED
+                || type == ElevatorEvent.Type.REQUEST_COALESCED;
+    }
+
+    private void append(ElevatorEvent.Type type, long time, int elevatorId, int floor, long id,
+                        int callFloor, int destinationFloor, ElevatorRequest.Direction direction,
+                        int requestedCar) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            seal(null);
+        }
+
+        buffer.put((byte) type.ordinal());
+        buffer.put((byte) (direction == null ? 0 : direction.ordinal() + 1));
+        buffer.putShort((short) elevatorId);
+        buffer.putInt(floor);
+        buffer.putLong(time);
+        buffer.putLong(id);
+        buffer.putInt(callFloor);
+        buffer.putInt(destinationFloor);
+        buffer.putInt(requestedCar);
+
+        if (++sinceSnapshot >= snapshotInterval) {
+            sinceSnapshot = 0;
+            seal(encodeSnapshot());
+        }
+    }
+
+    private void seal(ByteBuffer snapshot) {
+        if (buffer.position() == 0 && snapshot == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (batches.size() >= MAX_BATCHES && failure == null && writer.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        batches.add(new Batch(buffer, snapshot, generation));
+        sealed++;
+        ByteBuffer next = spare.poll();
+        buffer = next != null ? next : ByteBuffer.allocateDirect(RECORD_SIZE * BUFFER_RECORDS);
+        notifyAll();
+    }
+
+    private void writeLoop() {
+        while (true) {
+            Batch batch;
+            synchronized (this) {
+                while (batches.isEmpty() && !writeRequested && !closing) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (batches.isEmpty()) {
+                    writeRequested = false;
+                    seal(null);
+                    if (batches.isEmpty()) {
+                        if (closing) {
+                            return;
+                        }
+                        continue;
+                    }
+                }
+                batch = batches.poll();
+                notifyAll();
+            }
+
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                System.err.println("Ошибка записи журнала: " + e);
+                synchronized (this) {
+                    failure = e;
+                    batches.clear();
+                    notifyAll();
+                }
+                return;
+            }
+
+            synchronized (this) {
+                batch.records().clear();
+                spare.add(batch.records());
+                written++;
+                notifyAll();
+            }
+        }
+    }
+
+    private void writeBatch(Batch batch) throws IOException {
+        ByteBuffer records = batch.records();
+        records.flip();
+        while (records.hasRemaining()) {
+            channel.write(records);
+        }
+        if (batch.snapshot() != null) {
+            writeSnapshot(batch.snapshot(), batch.generation());
+        } else {
+            channel.force(false);
+        }
+    }
+
+    private ByteBuffer encodeSnapshot() {
+        generation++;
+
+        ByteBuffer out = ByteBuffer.allocate(36 + carFloors.size() * 8 + entries.size() * 30);
+        out.putInt(SNAPSHOT_MAGIC);
+        out.putInt(VERSION);
+        out.putLong(generation);
+        out.putLong(nextId);
+        out.putInt(carFloors.size());
+        for (Map.Entry<Integer, Integer> car : carFloors.entrySet()) {
+            out.putInt(car.getKey());
+            out.putInt(car.getValue());
+        }
+
+        List<Entry> live = new ArrayList<>(entries.values());
+        live.sort(Comparator.comparingLong(entry -> entry.id));
+        out.putInt(live.size());
+        for (Entry entry : live) {
+            ElevatorRequest request = entry.request;
+            out.putLong(entry.id);
+            out.putInt(request.getCallFloor());
+            out.putInt(request.getDestinationFloor());
+            out.put((byte) (request.getDirection() == null ? 0 : request.getDirection().ordinal() + 1));
+            out.putInt(request.getElevatorId());
+            out.putInt(entry.elevatorId);
+            out.put((byte) (entry.onBoard ? 1 : 0));
+            out.putInt(entry.transferDestination);
+        }
+        out.flip();
+        return out;
+    }
+
+    private void writeSnapshot(ByteBuffer out, long generation) throws IOException {
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                file.write(out);
+            }
+            file.force(true);
+        }
+        Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(JOURNAL_MAGIC);
+        header.putInt(VERSION);
+        header.putLong(generation);
+        header.flip();
+
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+    }
+
+    private void readSnapshot(Map<Long, Entry> recovered) throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+        if (in.remaining() < 28 || in.getInt() != SNAPSHOT_MAGIC || in.getInt() != VERSION) {
+            throw new IOException("Поврежден снимок состояния: " + snapshotPath);
+        }
+        generation = in.getLong();
+        nextId = in.getLong();
+
+        int cars = in.getInt();
+        for (int i = 0; i < cars; i++) {
+            carFloors.put(in.getInt(), in.getInt());
+        }
+
+        int requests = in.getInt();
+        for (int i = 0; i < requests; i++) {
+            long id = in.getLong();
+            int callFloor = in.getInt();
+            int destinationFloor = in.getInt();
+            byte direction = in.get();
+            int requestedCar = in.getInt();
+            ElevatorRequest request = requestOf(callFloor, destinationFloor, direction, requestedCar);
+            if (request == null) {
+                throw new IOException("Поврежден снимок состояния: " + snapshotPath);
+            }
+            Entry entry = new Entry(id, request);
+            entry.elevatorId = in.getInt();
+            entry.onBoard = in.get() != 0;
+            entry.transferDestination = in.getInt();
+            recovered.put(id, entry);
+        }
+    }
+
+    private void readJournal(Map<Long, Entry> recovered) throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocateDirect(RECORD_SIZE * BUFFER_RECORDS);
+            in.limit(HEADER_SIZE);
+            while (in.hasRemaining() && file.read(in) > 0) {
+            }
+            in.flip();
+            if (in.remaining() < HEADER_SIZE || in.getInt() != JOURNAL_MAGIC || in.getInt() != VERSION
+                    || in.getLong() != generation) {
+                return;
+            }
+
+            in.clear();
+            while (file.read(in) > 0 || in.position() > 0) {
+                in.flip();
+                if (in.remaining() < RECORD_SIZE) {
+                    return;
+                }
+                while (in.remaining() >= RECORD_SIZE) {
+                    if (!replay(in, recovered)) {
+                        return;
+                    }
+                }
+                in.compact();
+            }
+        }
+    }
+
+    private boolean replay(ByteBuffer in, Map<Long, Entry> recovered) {
+        int ordinal = in.get();
+        byte direction = in.get();
+        int elevatorId = in.getShort();
+        int floor = in.getInt();
+        in.getLong();
+        long id = in.getLong();
+        int callFloor = in.getInt();
+        int destinationFloor = in.getInt();
+        int requestedCar = in.getInt();
+
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            return false;
+        }
+        ElevatorEvent.Type type = TYPES[ordinal];
+
+        if (id == 0) {
+            if (type != ElevatorEvent.Type.ARRIVED && type != ElevatorEvent.Type.FLOOR_PASSED) {
+                return false;
+            }
+            carFloors.put(elevatorId, floor);
+            return true;
+        }
+
+        Entry entry = recovered.get(id);
+        if (entry == null) {
+            if (!opensEntry(type)) {
+                return true;
+            }
+            ElevatorRequest request = requestOf(callFloor, destinationFloor, direction, requestedCar);
+            if (request == null) {
+                return false;
+            }
+            entry = new Entry(id, request);
+            recovered.put(id, entry);
+            nextId = Math.max(nextId, id + 1);
+        }
+
+        apply(entry, type, elevatorId, floor);
+        if (isTerminal(type)) {
+            recovered.remove(id);
+        }
+        return true;
+    }
+
+    private static ElevatorRequest requestOf(int callFloor, int destinationFloor, byte direction, int requestedCar) {
+        if (callFloor == -1) {
+            return requestedCar == -1
+                    ? new ElevatorRequest(destinationFloor)
+                    : ElevatorRequest.carCall(requestedCar, destinationFloor);
+        }
+        if (destinationFloor == -1) {
+            if (direction < 1 || direction > DIRECTIONS.length) {
+                return null;
+            }
+            return new ElevatorRequest(callFloor, DIRECTIONS[direction - 1]);
+        }
+        return new ElevatorRequest(callFloor, destinationFloor);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (closing) {
+            return;
+        }
+        seal(null);
+        awaitWritten(sealed);
+    }
+
+    private void awaitWritten(long target) {
+        boolean interrupted = false;
+        while (written < target && failure == null && writer.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closing) {
+                return;
+            }
+            closing = true;
+            notifyAll();
+        }
+
+        try {
+            writer.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        synchronized (this) {
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,139 @@
+package elevator;
+
+import java.util.function.Supplier;
+
+public class LoadTest {
+    private static final long DRAIN_MILLIS = 10 * 60_000;
+
+    public record Config(TrafficPattern pattern, int cars, int capacity, int floors,
+                         double arrivalsPerMinute, long durationMillis, long seed,
+                         DispatchStrategy strategy, Elevator.MotionProfile motion) {
+        public Config(TrafficPattern pattern, int cars, int capacity, int floors, double arrivalsPerMinute,
+                      long durationMillis, long seed, DispatchStrategy strategy) {
+            this(pattern, cars, capacity, floors, arrivalsPerMinute, durationMillis, seed, strategy,
+                    Elevator.MotionProfile.CONSTANT_SPEED);
+        }
+    }
+
+    public static SimulationResult run(Config config) {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        ElevatorController controller = new ElevatorController(config.cars(), config.capacity(),
+                scheduler, EventLog.disabled());
+        controller.setDispatchStrategy(config.strategy());
+        controller.setMotionProfile(config.motion());
+        TrafficGenerator generator = new TrafficGenerator(config.floors(), config.pattern(),
+                config.arrivalsPerMinute(), config.seed());
+
+        long wallStart = System.nanoTime();
+        scheduleNextArrival(scheduler, controller, generator::next, config.durationMillis());
+        scheduler.runUntil(config.durationMillis() + DRAIN_MILLIS);
+        long wallNanos = System.nanoTime() - wallStart;
+
+        SimulationResult result = SimulationResult.collect(controller, scheduler.now(), wallNanos);
+        controller.shutdown();
+        return result;
+    }
+
+    static void scheduleNextArrival(Scheduler scheduler, ElevatorController controller,
+                                    Supplier<TrafficGenerator.Arrival> arrivals, long until) {
+        TrafficGenerator.Arrival arrival = arrivals.get();
+        if (arrival == null || arrival.time() > until) {
+            return;
+        }
+
+        scheduler.schedule(Math.max(0, arrival.time() - scheduler.now()), () -> {
+            controller.submitRequest(arrival.request());
+            scheduleNextArrival(scheduler, controller, arrivals, until);
+        });
+    }
+
+    public static void main(String[] args) {
+        TrafficPattern pattern = args.length > 0 ? TrafficPattern.valueOf(args[0]) : TrafficPattern.UP_PEAK;
+        int cars = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int floors = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        double rate = args.length > 4 ? Double.parseDouble(args[4]) : 20;
+        long minutes = args.length > 5 ? Long.parseLong(args[5]) : 60;
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : 42;
+        DispatchStrategy strategy = args.length > 7 ? strategyByName(args[7]) : new EtaStrategy();
+        Elevator.MotionProfile motion = args.length > 8 ? motionByName(args[8]) : Elevator.MotionProfile.CONSTANT_SPEED;
+
+        Config config = new Config(pattern, cars, capacity, floors, rate, minutes * 60_000, seed, strategy, motion);
+        print(config, run(config));
+    }
+
+    public static DispatchStrategy strategyByName(String name) {
+        int separator = name.indexOf(':');
+        String kind = separator < 0 ? name : name.substring(0, separator);
+        String arguments = separator < 0 ? "" : name.substring(separator + 1);
+        int[] params;
+
+        switch (kind) {
+            case "nearest":
+                params = parseWeights(arguments);
+                if (params.length == 0) {
+                    return new NearestCarStrategy();
+                }
+                if (params.length != 8) {
+                    throw new IllegalArgumentException("Для nearest нужно 8 весов: " + name);
+                }
+                return new NearestCarStrategy(new NearestCarStrategy.Weights(params[0], params[1], params[2],
+                        params[3], params[4], params[5], params[6], params[7]));
+            case "destination":
+                params = parseWeights(arguments);
+                if (params.length == 0) {
+                    return new DestinationDispatchStrategy();
+                }
+                if (params.length != 2) {
+                    throw new IllegalArgumentException("Для destination нужно 2 веса: " + name);
+                }
+                return new DestinationDispatchStrategy(new NearestCarStrategy(), params[0], params[1]);
+            case "eta":
+                return arguments.isEmpty() ? new EtaStrategy() : new EtaStrategy(Double.parseDouble(arguments));
+            case "energy":
+                params = parseWeights(arguments);
+                if (params.length == 0) {
+                    return new EnergyAwareStrategy();
+                }
+                if (params.length != 3) {
+                    throw new IllegalArgumentException("Для energy нужно 3 штрафа (пуск, остановка, порожний этаж): " + name);
+                }
+                return new EnergyAwareStrategy(new EtaStrategy(), params[0], params[1], params[2]);
+            default:
+                throw new IllegalArgumentException("Неизвестная стратегия: " + name);
+        }
+    }
+
+    public static Elevator.MotionProfile motionByName(String name) {
+        switch (name) {
+            case "constant":
+                return Elevator.MotionProfile.CONSTANT_SPEED;
+            case "traction":
+                return Elevator.MotionProfile.TRACTION;
+            default:
+                throw new IllegalArgumentException("Неизвестный профиль движения: " + name);
+        }
+    }
+
+    private static int[] parseWeights(String list) {
+        if (list.isEmpty()) {
+            return new int[0];
+        }
+        String[] parts = list.split(",");
+        int[] weights = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            weights[i] = Integer.parseInt(parts[i].trim());
+        }
+        return weights;
+    }
+
+    public static void print(Config config, SimulationResult result) {
+        System.out.printf("Сценарий %s: лифтов %d, вместимость %d, этажей %d, %.1f пасс./мин, %d мин, seed %d, %s%n",
+                config.pattern(), config.cars(), config.capacity(), config.floors(),
+                config.arrivalsPerMinute(), config.durationMillis() / 60_000, config.seed(),
+                config.strategy().getClass().getSimpleName());
+        System.out.printf("Пропускная способность: %.0f пасс./ч%n",
+                result.metrics().getCompletedCount() * 3_600_000.0 / config.durationMillis());
+        result.print();
+    }
+}
\ No newline at end of file
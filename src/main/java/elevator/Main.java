@@ -1,18 +1,20 @@
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+package elevator;
 
 public class Main {
     public static void main(String[] args) {
+        boolean virtualTime = args.length > 0 && args[0].equals("--virtual");
+
         System.out.println("Запуск системы управления лифтами");
         System.out.println("Количество лифтов: 3");
         System.out.println("Макс. пассажиров в лифте: 5");
         System.out.println("Этажей: 10");
+        System.out.println("Режим времени: " + (virtualTime ? "виртуальное" : "реальное"));
 
-        ElevatorController controller = new ElevatorController(3, 5);
+        Scheduler scheduler = virtualTime ? new VirtualTimeScheduler() : WallClockScheduler.pooled();
+        ElevatorController controller = new ElevatorController(3, 5, scheduler);
 
         try {
-            Thread.sleep(1000);
+            scheduler.sleep(1000);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -20,25 +22,25 @@ public class Main {
         controller.addPriorityFloor(1);
         controller.addPriorityFloor(10);
 
-        System.out.println("\nПервый тестовый запрос");
+        announce(controller, "\nПервый тестовый запрос");
         controller.submitCompleteRequest(new ElevatorRequest(1, 8));
 
         controller.printStatus();
 
         try {
-            Thread.sleep(3000);
+            scheduler.sleep(3000);
 
-            System.out.println("Второй тестовый запрос");
+            announce(controller, "Второй тестовый запрос");
             controller.submitCompleteRequest(new ElevatorRequest(3, 1));
 
-            Thread.sleep(3000);
+            scheduler.sleep(3000);
 
-            System.out.println("Третий тестовый запрос");
+            announce(controller, "Третий тестовый запрос");
             controller.submitCompleteRequest(new ElevatorRequest(5, 10));
 
-            Thread.sleep(3000);
+            scheduler.sleep(3000);
 
-            System.out.println("Четвертый тестовый запрос");
+            announce(controller, "Четвертый тестовый запрос");
             controller.submitCompleteRequest(new ElevatorRequest(2, 7));
 
         } catch (InterruptedException e) {
@@ -47,7 +49,7 @@ public class Main {
 
         for (int i = 0; i < 6; i++) {
             try {
-                Thread.sleep(5000);
+                scheduler.sleep(5000);
                 controller.printStatus();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -55,7 +57,13 @@ public class Main {
             }
         }
 
+        controller.printMetrics();
         controller.shutdown();
         System.out.println("Процесс завершен");
     }
+
+    private static void announce(ElevatorController controller, String message) {
+        controller.getEventLog().flush();
+        System.out.println(message);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package elevator;
+
+public class NearestCarStrategy implements DispatchStrategy {
+    private final Weights weights;
+
+    public record Weights(int distance, int wrongDirection, int passenger, int target,
+                          int idleBonus, int emptyBonus, int priorityBonus, int stoppedBonus) {
+        public static final Weights DEFAULT = new Weights(10, 30, 3, 15, 40, 20, 30, 25);
+    }
+
+    public NearestCarStrategy() {
+        this(Weights.DEFAULT);
+    }
+
+    public NearestCarStrategy(Weights weights) {
+        this.weights = weights;
+    }
+
+    public Weights getWeights() {
+        return weights;
+    }
+
+    @Override
+    public int lowerBound(int distance, Elevator.MotionProfile motion) {
+        if (weights.wrongDirection() < 0 || weights.passenger() < 0 || weights.target() < 0) {
+            return 0;
+        }
+        int bonuses = Math.max(0, weights.idleBonus()) + Math.max(0, weights.emptyBonus())
+                + Math.max(0, weights.priorityBonus()) + Math.max(0, weights.stoppedBonus());
+        return Math.max(0, distance * weights.distance() - bonuses);
+    }
+
+    @Override
+    public int score(Elevator elevator, Elevator.Snapshot state, ElevatorRequest request, FloorSet priorityFloors) {
+        int score = 0;
+        int floorDiff = Math.abs(state.floor() - request.getCallFloor());
+
+        score = floorDiff * weights.distance();
+
+        Elevator.Direction elevatorDir = state.direction();
+        ElevatorRequest.Direction requestDir = request.getDirection();
+
+        if (elevatorDir != Elevator.Direction.IDLE) {
+            boolean isSameDirection = false;
+
+            if (elevatorDir == Elevator.Direction.UP &&
+                    request.getCallFloor() >= state.floor() &&
+                    requestDir == ElevatorRequest.Direction.UP) {
+                isSameDirection = true;
+            } else if (elevatorDir == Elevator.Direction.DOWN &&
+                    request.getCallFloor() <= state.floor() &&
+                    requestDir == ElevatorRequest.Direction.DOWN) {
+                isSameDirection = true;
+            }
+
+            if (!isSameDirection) {
+                score += weights.wrongDirection();
+            }
+        }
+
+        score += state.passengerCount() * weights.passenger();
+        score += state.targetCount() * weights.target();
+
+        if (elevatorDir == Elevator.Direction.IDLE) {
+            score -= weights.idleBonus();
+        }
+
+        if (state.passengerCount() == 0) {
+            score -= weights.emptyBonus();
+        }
+
+        if (priorityFloors.contains(request.getCallFloor())) {
+            score -= weights.priorityBonus();
+        }
+
+        if (state.status() == Elevator.Status.STOPPED) {
+            score -= weights.stoppedBonus();
+        }
+
+        return Math.max(0, score);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package elevator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+public class ParameterSweep {
+    private static final List<String> DEFAULT_STRATEGIES = List.of(
+            "nearest", "destination", "eta:0.25", "eta:0.5", "eta:1.0", "energy");
+
+    public record Candidate(int cars, int capacity, String strategy) {
+    }
+
+    public record Outcome(Candidate candidate, double meanWait, long p95Wait, long floorsTravelled,
+                          double energyWh, long completed, long submitted) {
+        public boolean dominates(Outcome other) {
+            boolean noWorse = meanWait <= other.meanWait && p95Wait <= other.p95Wait
+                    && floorsTravelled <= other.floorsTravelled && energyWh <= other.energyWh
+                    && completed >= other.completed;
+            boolean better = meanWait < other.meanWait || p95Wait < other.p95Wait
+                    || floorsTravelled < other.floorsTravelled || energyWh < other.energyWh
+                    || completed > other.completed;
+            return noWorse && better;
+        }
+    }
+
+    private static final class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Candidate> candidates;
+        private final transient Function<Candidate, Outcome> simulation;
+        private final transient Outcome[] outcomes;
+        private final int from;
+        private final int to;
+
+        private SweepTask(List<Candidate> candidates, Function<Candidate, Outcome> simulation,
+                          Outcome[] outcomes, int from, int to) {
+            this.candidates = candidates;
+            this.simulation = simulation;
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                outcomes[from] = simulation.apply(candidates.get(from));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask(candidates, simulation, outcomes, from, middle),
+                    new SweepTask(candidates, simulation, outcomes, middle, to));
+        }
+    }
+
+    public static List<Outcome> sweep(List<Candidate> candidates, Function<Candidate, Outcome> simulation,
+                                      int parallelism) {
+        Outcome[] outcomes = new Outcome[candidates.size()];
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SweepTask(candidates, simulation, outcomes, 0, candidates.size()));
+        } finally {
+            pool.shutdown();
+        }
+        return List.of(outcomes);
+    }
+
+    public static List<Outcome> paretoFront(List<Outcome> outcomes) {
+        List<Outcome> front = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            boolean dominated = false;
+            for (Outcome other : outcomes) {
+                if (other.dominates(outcome)) {
+                    dominated = true;
+                    break;
+                }
+            }
+            if (!dominated) {
+                front.add(outcome);
+            }
+        }
+        front.sort(Comparator.comparingDouble(Outcome::meanWait));
+        return front;
+    }
+
+    public static List<Candidate> grid(int[] cars, int[] capacities, List<String> strategies) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (int carCount : cars) {
+            for (int capacity : capacities) {
+                for (String strategy : strategies) {
+                    LoadTest.strategyByName(strategy);
+                    candidates.add(new Candidate(carCount, capacity, strategy));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    public static Function<Candidate, Outcome> generated(TrafficPattern pattern, int floors,
+                                                         double arrivalsPerMinute, long durationMillis, long seed) {
+        return candidate -> {
+            SimulationResult result = LoadTest.run(new LoadTest.Config(pattern, candidate.cars(), candidate.capacity(),
+                    floors, arrivalsPerMinute, durationMillis, seed, LoadTest.strategyByName(candidate.strategy())));
+            return outcome(candidate, result.metrics(), result.floorsTravelled(), result.energyWh());
+        };
+    }
+
+    public static Function<Candidate, Outcome> replayed(Path trace) {
+        return candidate -> {
+            try {
+                SimulationResult result = TraceReplay.run(new TraceReplay.Config(trace, candidate.cars(),
+                        candidate.capacity(), LoadTest.strategyByName(candidate.strategy())));
+                return outcome(candidate, result.metrics(), result.floorsTravelled(), result.energyWh());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static Outcome outcome(Candidate candidate, ElevatorMetrics metrics, long floorsTravelled,
+                                   double energyWh) {
+        LatencyHistogram wait = metrics.getWaitTime();
+        return new Outcome(candidate, wait.getMean(), wait.getPercentile(95), floorsTravelled, energyWh,
+                metrics.getCompletedCount(), metrics.getSubmittedCount());
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Использование: ParameterSweep <шаблон:этажей:пасс./мин:мин:seed | трасса> " +
+                    "<лифтов,...> <вместимость,...> [стратегия ...]");
+            return;
+        }
+
+        Function<Candidate, Outcome> simulation = simulationFor(args[0]);
+        List<String> strategies = args.length > 3
+                ? Arrays.asList(args).subList(3, args.length)
+                : DEFAULT_STRATEGIES;
+        List<Candidate> candidates = grid(parseList(args[1]), parseList(args[2]), strategies);
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long started = System.nanoTime();
+        List<Outcome> outcomes = sweep(candidates, simulation, parallelism);
+        long wallNanos = System.nanoTime() - started;
+
+        List<Outcome> front = paretoFront(outcomes);
+        System.out.printf("Прогонов: %d на %d потоках за %.1f с%n", outcomes.size(), parallelism, wallNanos / 1e9);
+        System.out.printf("%-3s %6s %11s %-40s %12s %12s %10s %13s %s%n",
+                "", "лифтов", "вместимость", "стратегия", "ожидание, с", "p95, с", "этажей", "энергия, Вт·ч",
+                "выполнено");
+        for (Outcome outcome : outcomes) {
+            print(outcome, front.contains(outcome) ? "*" : "");
+        }
+
+        System.out.println("Фронт Парето (среднее ожидание, p95 ожидания, пройдено этажей, энергия):");
+        for (Outcome outcome : front) {
+            print(outcome, "*");
+        }
+    }
+
+    private static Function<Candidate, Outcome> simulationFor(String traffic) {
+        Path trace = Path.of(traffic);
+        if (Files.isRegularFile(trace)) {
+            return replayed(trace);
+        }
+
+        String[] parts = traffic.split(":");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Ожидается файл трассы или шаблон:этажей:пасс./мин:мин:seed: " + traffic);
+        }
+        return generated(TrafficPattern.valueOf(parts[0]), Integer.parseInt(parts[1]),
+                Double.parseDouble(parts[2]), Long.parseLong(parts[3]) * 60_000, Long.parseLong(parts[4]));
+    }
+
+    private static int[] parseList(String list) {
+        String[] parts = list.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    private static void print(Outcome outcome, String marker) {
+        Candidate candidate = outcome.candidate();
+        System.out.printf("%-3s %6d %11d %-40s %12.1f %12.1f %10d %13.1f %d/%d%n",
+                marker, candidate.cars(), candidate.capacity(), candidate.strategy(),
+                outcome.meanWait() / 1000, outcome.p95Wait() / 1000.0, outcome.floorsTravelled(),
+                outcome.energyWh(), outcome.completed(), outcome.submitted());
+    }
+}
\ No newline at end of file
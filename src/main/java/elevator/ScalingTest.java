@@ -0,0 +1,62 @@
+package elevator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+public class ScalingTest {
+    private static final int FLOORS = 20;
+    private static final long RUN_MILLIS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int[] sizes = {10, 100, 1000};
+        System.out.printf("%-22s %6s %10s %10s %14s%n", "режим", "лифты", "потоки", "пик", "байт/лифт");
+
+        for (int size : sizes) {
+            run("поток на лифт", size, n -> new WallClockScheduler(n + 1));
+            run("пул потоков", size, n -> WallClockScheduler.pooled());
+            run("виртуальные потоки", size, n -> WallClockScheduler.virtualThreads());
+        }
+    }
+
+    private static void run(String mode, int elevators,
+                            IntFunction<Scheduler> schedulerFactory) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long heapBefore = usedHeap();
+        int threadsBefore = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+
+        ElevatorController controller = new ElevatorController(elevators, 8,
+                schedulerFactory.apply(elevators), EventLog.disabled());
+        Random random = new Random(42);
+
+        for (int i = 0; i < elevators * 2; i++) {
+            int from = 1 + random.nextInt(FLOORS);
+            int to = 1 + random.nextInt(FLOORS);
+            if (from != to) {
+                controller.submitCompleteRequest(new ElevatorRequest(from, to));
+            }
+        }
+
+        Thread.sleep(RUN_MILLIS);
+
+        int liveThreads = threads.getThreadCount() - threadsBefore;
+        int peakThreads = threads.getPeakThreadCount() - threadsBefore;
+        long bytesPerCar = Math.max(0, usedHeap() - heapBefore) / elevators;
+
+        controller.shutdown();
+
+        System.out.printf("%-22s %6d %10d %10d %14d%n",
+                mode, elevators, liveThreads, peakThreads, bytesPerCar);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package elevator;
+
+public interface Scheduler {
+    long now();
+
+    void schedule(long delayMillis, Runnable task);
+
+    void sleep(long millis) throws InterruptedException;
+
+    void shutdown();
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package elevator;
+
+public record SimulationResult(ElevatorMetrics metrics, double[] utilization, Elevator.TravelStats[] travel,
+                               long simulatedMillis, long wallNanos) {
+    static SimulationResult collect(ElevatorController controller, long simulatedMillis, long wallNanos) {
+        int cars = controller.getElevators().size();
+        double[] utilization = new double[cars];
+        Elevator.TravelStats[] travel = new Elevator.TravelStats[cars];
+        for (int i = 0; i < cars; i++) {
+            Elevator elevator = controller.getElevators().get(i);
+            utilization[i] = controller.getUtilization(elevator);
+            travel[i] = elevator.getTravelStats();
+        }
+        return new SimulationResult(controller.getMetrics(), utilization, travel, simulatedMillis, wallNanos);
+    }
+
+    public long floorsTravelled() {
+        long floors = 0;
+        for (Elevator.TravelStats stats : travel) {
+            floors += stats.floorsTravelled();
+        }
+        return floors;
+    }
+
+    public double energyWh() {
+        double energyWh = 0;
+        for (Elevator.TravelStats stats : travel) {
+            energyWh += stats.energyWh();
+        }
+        return energyWh;
+    }
+
+    public double speedup() {
+        return simulatedMillis * 1e6 / Math.max(1, wallNanos);
+    }
+
+    public double requestsPerWallSecond() {
+        return metrics.getSubmittedCount() * 1e9 / Math.max(1, wallNanos);
+    }
+
+    public void print() {
+        LatencyHistogram wait = metrics.getWaitTime();
+        LatencyHistogram ride = metrics.getRideTime();
+
+        System.out.printf("Моделирование: %.1f мин за %.1f мс (x%.0f), %.0f запросов/с%n",
+                simulatedMillis / 60_000.0, wallNanos / 1e6, speedup(), requestsPerWallSecond());
+        System.out.printf("Ожидание, с: среднее %.1f, p50 %.1f, p90 %.1f, p95 %.1f, p99 %.1f, макс %.1f%n",
+                wait.getMean() / 1000, wait.getPercentile(50) / 1000.0, wait.getPercentile(90) / 1000.0,
+                wait.getPercentile(95) / 1000.0, wait.getPercentile(99) / 1000.0, wait.getMax() / 1000.0);
+        System.out.printf("Поездка, с: среднее %.1f, p50 %.1f, p90 %.1f, p95 %.1f, p99 %.1f, макс %.1f%n",
+                ride.getMean() / 1000, ride.getPercentile(50) / 1000.0, ride.getPercentile(90) / 1000.0,
+                ride.getPercentile(95) / 1000.0, ride.getPercentile(99) / 1000.0, ride.getMax() / 1000.0);
+        System.out.print(metrics.format());
+        System.out.printf("Пройдено этажей: %d, энергия %.1f Вт·ч%n", floorsTravelled(), energyWh());
+
+        for (int i = 0; i < utilization.length; i++) {
+            System.out.printf("Лифт %d: загрузка %.1f%%, %s%n", i + 1, utilization[i] * 100,
+                    ElevatorController.formatTravel(travel[i]));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package elevator;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SiteController {
+    private final List<Bank> banks;
+    private final Scheduler scheduler;
+    private final EventLog events;
+    private int nextElevatorId;
+
+    public record Bank(String name, FloorSet floors, ElevatorController controller) {
+        public boolean serves(int floor) {
+            return floor >= 0 && floor < floors.getCapacity() && floors.contains(floor);
+        }
+
+        public boolean serves(ElevatorRequest request) {
+            if (request.isInternalCall()) {
+                return serves(request.getDestinationFloor());
+            }
+            if (request.isCompleteRequest()) {
+                return serves(request.getCallFloor()) && serves(request.getDestinationFloor());
+            }
+            return serves(request.getCallFloor());
+        }
+    }
+
+    public SiteController() {
+        this(WallClockScheduler.pooled());
+    }
+
+    public SiteController(Scheduler scheduler) {
+        this(scheduler, new EventLog(scheduler, new ConsoleEventSink()));
+    }
+
+    public SiteController(Scheduler scheduler, EventLog events) {
+        this.banks = new CopyOnWriteArrayList<>();
+        this.scheduler = scheduler;
+        this.events = events;
+        this.nextElevatorId = 1;
+    }
+
+    public synchronized Bank addBank(String name, int numElevators, int maxPassengers,
+                                     int lowestFloor, int highestFloor, int... extraFloors) {
+        if (lowestFloor > highestFloor) {
+            throw new IllegalArgumentException("Неверный диапазон этажей группы " + name + ": " +
+                    lowestFloor + ".." + highestFloor);
+        }
+        for (Bank bank : banks) {
+            if (bank.name().equals(name)) {
+                throw new IllegalArgumentException("Группа лифтов " + name + " уже существует");
+            }
+        }
+
+        FloorSet floors = new FloorSet();
+        for (int floor = lowestFloor; floor <= highestFloor; floor++) {
+            floors.add(floor);
+        }
+        for (int floor : extraFloors) {
+            floors.add(floor);
+        }
+
+        ElevatorController controller = new ElevatorController(numElevators, maxPassengers, scheduler, events,
+                ElevatorController.DEFAULT_QUEUE_CAPACITY, nextElevatorId, floors.first());
+        nextElevatorId += numElevators;
+
+        Bank bank = new Bank(name, floors, controller);
+        banks.add(bank);
+        return bank;
+    }
+
+    public Bank route(ElevatorRequest request) {
+        Bank fallback = null;
+
+        for (Bank bank : banks) {
+            if (request.getElevatorId() != -1 && bank.controller().getElevator(request.getElevatorId()) != null) {
+                return bank;
+            }
+            if (!bank.serves(request)) {
+                continue;
+            }
+            if (!request.isInternalCall()) {
+                return bank;
+            }
+            if (fallback == null) {
+                fallback = bank;
+            }
+            if (request.getElevatorId() == -1 && bank.controller().hasCarWithDoorsOpen()) {
+                return bank;
+            }
+        }
+
+        return fallback;
+    }
+
+    public boolean submitRequest(ElevatorRequest request) {
+        Bank bank = route(request);
+        return bank == null ? rejectRequest(request) : bank.controller().submitRequest(request);
+    }
+
+    public boolean submitRequest(String bankName, ElevatorRequest request) {
+        Bank bank = getBank(bankName);
+        return bank.serves(request) ? bank.controller().submitRequest(request) : rejectRequest(request);
+    }
+
+    private boolean rejectRequest(ElevatorRequest request) {
+        events.publishRequest(request.hasValidFloors()
+                ? ElevatorEvent.Type.REQUEST_UNSERVED : ElevatorEvent.Type.REQUEST_REJECTED, -1, request);
+        return false;
+    }
+
+    public void restore(JournalEventSink.Recovery recovery) {
+        Map<Bank, List<JournalEventSink.PendingRequest>> byBank = new IdentityHashMap<>();
+        for (Bank bank : banks) {
+            byBank.put(bank, new ArrayList<>());
+        }
+
+        for (JournalEventSink.PendingRequest pending : recovery.requests()) {
+            Bank owner = null;
+            for (Bank bank : banks) {
+                if (bank.controller().getElevator(pending.elevatorId()) != null) {
+                    owner = bank;
+                }
+            }
+            if (owner == null) {
+                owner = route(pending.request());
+            }
+            if (owner == null) {
+                rejectRequest(pending.request());
+                continue;
+            }
+            byBank.get(owner).add(pending);
+        }
+
+        for (Bank bank : banks) {
+            bank.controller().restore(new JournalEventSink.Recovery(recovery.carFloors(), byBank.get(bank)));
+        }
+    }
+
+    public void addPriorityFloor(int floor) {
+        for (Bank bank : banks) {
+            if (bank.serves(floor)) {
+                bank.controller().addPriorityFloor(floor);
+            }
+        }
+    }
+
+    public void removePriorityFloor(int floor) {
+        for (Bank bank : banks) {
+            if (bank.serves(floor)) {
+                bank.controller().removePriorityFloor(floor);
+            }
+        }
+    }
+
+    public Bank getBank(String name) {
+        for (Bank bank : banks) {
+            if (bank.name().equals(name)) {
+                return bank;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестная группа лифтов: " + name);
+    }
+
+    public List<Bank> getBanks() {
+        return new ArrayList<>(banks);
+    }
+
+    public EventLog getEventLog() {
+        return events;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void printStatus() {
+        for (Bank bank : banks) {
+            events.flush();
+            System.out.println("Группа " + bank.name() + " (этажи " + bank.floors() + "):");
+            bank.controller().printStatus();
+        }
+    }
+
+    public void printMetrics() {
+        for (Bank bank : banks) {
+            events.flush();
+            System.out.println("Группа " + bank.name() + ":");
+            bank.controller().printMetrics();
+        }
+    }
+
+    public void shutdown() {
+        events.publishNotice(ElevatorEvent.Type.SITE_STOPPING, -1, -1);
+
+        for (Bank bank : banks) {
+            bank.controller().stop();
+        }
+
+        scheduler.shutdown();
+        events.publishNotice(ElevatorEvent.Type.SITE_STOPPED, -1, -1);
+        events.close();
+    }
+}
\ No newline at end of file
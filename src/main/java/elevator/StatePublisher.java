@@ -0,0 +1,172 @@
+package elevator;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+public class StatePublisher {
+    public enum Change {
+        FLOOR, DIRECTION, STATUS, LOAD, TARGETS
+    }
+
+    public record CarChange(int elevatorId, Elevator.Snapshot state, Set<Change> changes,
+                            List<Integer> targetsAdded, List<Integer> targetsRemoved) {
+        public boolean has(Change change) {
+            return changes.contains(change);
+        }
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final Consumer<CarChange> listener;
+        private final Executor executor;
+        private final FloorSet dirty;
+        private final AtomicBoolean scheduled;
+        private final Elevator.Snapshot[] seen;
+        private final FloorSet[] seenTargets;
+        private final LongAdder delivered;
+        private final LongAdder coalesced;
+        private volatile boolean open;
+
+        private Subscription(Consumer<CarChange> listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+            this.dirty = new FloorSet(cars.size());
+            this.scheduled = new AtomicBoolean(false);
+            this.seen = new Elevator.Snapshot[cars.size()];
+            this.seenTargets = new FloorSet[cars.size()];
+            this.delivered = new LongAdder();
+            this.coalesced = new LongAdder();
+            this.open = true;
+
+            for (int i = 0; i < seenTargets.length; i++) {
+                seenTargets[i] = new FloorSet();
+            }
+        }
+
+        private void markChanged(int car) {
+            if (!dirty.add(car)) {
+                coalesced.increment();
+            } else if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                for (int car = dirty.first(); car != -1 && open; car = dirty.ceiling(car + 1)) {
+                    dirty.remove(car);
+                    deliver(car);
+                }
+
+                scheduled.set(false);
+                if (!open || dirty.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private void deliver(int car) {
+            Elevator elevator = cars.get(car);
+            Elevator.Snapshot state = elevator.getSnapshot();
+            Elevator.Snapshot previous = seen[car];
+            Set<Change> changes = EnumSet.noneOf(Change.class);
+
+            if (previous == null || previous.floor() != state.floor()) {
+                changes.add(Change.FLOOR);
+            }
+            if (previous == null || previous.direction() != state.direction()) {
+                changes.add(Change.DIRECTION);
+            }
+            if (previous == null || previous.status() != state.status()) {
+                changes.add(Change.STATUS);
+            }
+            if (previous == null || previous.passengerCount() != state.passengerCount()) {
+                changes.add(Change.LOAD);
+            }
+
+            FloorSet known = seenTargets[car];
+            List<Integer> added = List.of();
+            List<Integer> removed = List.of();
+            for (int floor = elevator.nextTargetAbove(0); floor != -1; floor = elevator.nextTargetAbove(floor + 1)) {
+                if (known.add(floor)) {
+                    if (added.isEmpty()) {
+                        added = new ArrayList<>();
+                    }
+                    added.add(floor);
+                }
+            }
+            for (int floor = known.first(); floor != -1; floor = known.ceiling(floor + 1)) {
+                if (!elevator.hasTargetFloor(floor)) {
+                    known.remove(floor);
+                    if (removed.isEmpty()) {
+                        removed = new ArrayList<>();
+                    }
+                    removed.add(floor);
+                }
+            }
+            if (!added.isEmpty() || !removed.isEmpty()) {
+                changes.add(Change.TARGETS);
+            }
+
+            seen[car] = state;
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            delivered.increment();
+            try {
+                listener.accept(new CarChange(elevator.getId(), state, changes, added, removed));
+            } catch (RuntimeException e) {
+                System.err.println("Ошибка в подписчике на состояние лифтов: " + e);
+            }
+        }
+
+        public long getDeliveredCount() {
+            return delivered.sum();
+        }
+
+        public long getCoalescedCount() {
+            return coalesced.sum();
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+            subscriptions.remove(this);
+        }
+    }
+
+    private final List<Elevator> cars;
+    private final List<Subscription> subscriptions;
+
+    public StatePublisher(List<Elevator> cars) {
+        this.cars = List.copyOf(cars);
+        this.subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    public Subscription subscribe(Consumer<CarChange> listener, Executor executor) {
+        Subscription subscription = new Subscription(listener, executor);
+        subscriptions.add(subscription);
+        for (int car = 0; car < cars.size(); car++) {
+            subscription.markChanged(car);
+        }
+        return subscription;
+    }
+
+    void carChanged(int car) {
+        for (Subscription subscription : subscriptions) {
+            subscription.markChanged(car);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+}
\ No newline at end of file
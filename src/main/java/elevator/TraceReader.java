@@ -0,0 +1,109 @@
+package elevator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TraceReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long time;
+    private boolean finished;
+
+    public TraceReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.time = 0;
+        this.finished = false;
+
+        buffer.flip();
+        if (!fill(5) || buffer.getInt() != TraceWriter.MAGIC || buffer.get() != TraceWriter.VERSION) {
+            channel.close();
+            throw new IOException("Файл не является трассой вызовов: " + path);
+        }
+    }
+
+    public TrafficGenerator.Arrival next() {
+        if (finished || !fill(1)) {
+            finished = true;
+            return null;
+        }
+
+        long zigzag = getVarLong();
+        time += (zigzag >>> 1) ^ -(zigzag & 1);
+
+        int kind = nextByte();
+        ElevatorRequest request;
+        switch (kind) {
+            case TraceWriter.HALL_UP:
+                request = new ElevatorRequest((int) getVarLong(), ElevatorRequest.Direction.UP);
+                break;
+            case TraceWriter.HALL_DOWN:
+                request = new ElevatorRequest((int) getVarLong(), ElevatorRequest.Direction.DOWN);
+                break;
+            case TraceWriter.CAR_CALL:
+                request = new ElevatorRequest((int) getVarLong());
+                break;
+            case TraceWriter.COMPLETE:
+                int callFloor = (int) getVarLong();
+                request = new ElevatorRequest(callFloor, (int) getVarLong());
+                break;
+            default:
+                throw new IllegalStateException("Неизвестный тип записи " + kind + " в трассе " + path);
+        }
+
+        return new TrafficGenerator.Arrival(time, request);
+    }
+
+    private long getVarLong() {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = nextByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private int nextByte() {
+        if (!fill(1)) {
+            throw new IllegalStateException("Трасса " + path + " обрывается посреди записи");
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private boolean fill(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.flip();
+        }
+        return buffer.remaining() >= bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package elevator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class TraceReplay {
+    public record Config(Path trace, int cars, int capacity, DispatchStrategy strategy,
+                         Elevator.MotionProfile motion) {
+        public Config(Path trace, int cars, int capacity, DispatchStrategy strategy) {
+            this(trace, cars, capacity, strategy, Elevator.MotionProfile.CONSTANT_SPEED);
+        }
+    }
+
+    public static SimulationResult run(Config config) throws IOException {
+        VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+        ElevatorController controller = new ElevatorController(config.cars(), config.capacity(),
+                scheduler, EventLog.disabled());
+        controller.setDispatchStrategy(config.strategy());
+        controller.setMotionProfile(config.motion());
+
+        long wallStart = System.nanoTime();
+        try (TraceReader reader = new TraceReader(config.trace())) {
+            LoadTest.scheduleNextArrival(scheduler, controller, reader::next, Long.MAX_VALUE);
+            scheduler.runUntilIdle();
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+
+        SimulationResult result = SimulationResult.collect(controller, scheduler.now(), wallNanos);
+        controller.shutdown();
+        return result;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Использование: TraceReplay <трасса> [лифтов] [вместимость] [стратегия] [профиль]");
+            return;
+        }
+
+        Path trace = Path.of(args[0]);
+        int cars = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        DispatchStrategy strategy = args.length > 3 ? LoadTest.strategyByName(args[3]) : new EtaStrategy();
+        Elevator.MotionProfile motion = args.length > 4
+                ? LoadTest.motionByName(args[4]) : Elevator.MotionProfile.CONSTANT_SPEED;
+
+        Config config = new Config(trace, cars, capacity, strategy, motion);
+        print(config, run(config));
+    }
+
+    public static void print(Config config, SimulationResult result) {
+        System.out.printf("Трасса %s: лифтов %d, вместимость %d, %s%n",
+                config.trace(), config.cars(), config.capacity(), config.strategy().getClass().getSimpleName());
+        result.print();
+    }
+}
\ No newline at end of file
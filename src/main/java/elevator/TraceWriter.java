@@ -0,0 +1,171 @@
+package elevator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TraceWriter implements EventSink {
+    static final int MAGIC = 0x454C5452;
+    static final int VERSION = 1;
+    static final int HALL_UP = 0;
+    static final int HALL_DOWN = 1;
+    static final int CAR_CALL = 2;
+    static final int COMPLETE = 3;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_RECORD_SIZE = 21;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long lastTime;
+    private long count;
+
+    public TraceWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.lastTime = 0;
+        this.count = 0;
+
+        buffer.putInt(MAGIC);
+        buffer.put((byte) VERSION);
+    }
+
+    public synchronized void write(long time, ElevatorRequest request) {
+        if (buffer.remaining() < MAX_RECORD_SIZE) {
+            writeBuffer();
+        }
+
+        long delta = time - lastTime;
+        lastTime = time;
+        putVarLong((delta << 1) ^ (delta >> 63));
+
+        if (request.isInternalCall()) {
+            buffer.put((byte) CAR_CALL);
+            putVarLong(request.getDestinationFloor());
+        } else if (request.isCompleteRequest()) {
+            buffer.put((byte) COMPLETE);
+            putVarLong(request.getCallFloor());
+            putVarLong(request.getDestinationFloor());
+        } else {
+            buffer.put((byte) (request.getDirection() == ElevatorRequest.Direction.UP ? HALL_UP : HALL_DOWN));
+            putVarLong(request.getCallFloor());
+        }
+        count++;
+    }
+
+    @Override
+    public void accept(ElevatorEvent event) {
+        if (event.type() == ElevatorEvent.Type.REQUEST_RECEIVED) {
+            write(event.time(), event.request());
+        }
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void writeBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        writeBuffer();
+    }
+
+    @Override
+    public synchronized void close() {
+        writeBuffer();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static long convertEventLog(Path eventLog, Path trace) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(eventLog, StandardCharsets.UTF_8)) {
+            TraceWriter writer = new TraceWriter(trace);
+            try {
+                String line = reader.readLine();
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length < 7 || !fields[1].equals(ElevatorEvent.Type.REQUEST_RECEIVED.name())) {
+                        continue;
+                    }
+
+                    long time = Long.parseLong(fields[0]);
+                    int callFloor = Integer.parseInt(fields[4]);
+                    int destinationFloor = Integer.parseInt(fields[5]);
+
+                    if (callFloor == -1) {
+                        writer.write(time, new ElevatorRequest(destinationFloor));
+                    } else if (destinationFloor == -1) {
+                        writer.write(time, new ElevatorRequest(callFloor, ElevatorRequest.Direction.valueOf(fields[6])));
+                    } else {
+                        writer.write(time, new ElevatorRequest(callFloor, destinationFloor));
+                    }
+                }
+                return writer.getCount();
+            } finally {
+                writer.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Использование: TraceWriter <журнал событий .tsv> <трасса>");
+            System.out.println("               TraceWriter --generate <трасса> <шаблон> <этажей> <пасс./мин> <мин> [seed]");
+            return;
+        }
+
+        if (args[0].equals("--generate")) {
+            Path trace = Path.of(args[1]);
+            TrafficPattern pattern = TrafficPattern.valueOf(args[2]);
+            int floors = Integer.parseInt(args[3]);
+            double rate = Double.parseDouble(args[4]);
+            long until = Long.parseLong(args[5]) * 60_000;
+            long seed = args.length > 6 ? Long.parseLong(args[6]) : 42;
+
+            TrafficGenerator generator = new TrafficGenerator(floors, pattern, rate, seed);
+            TraceWriter writer = new TraceWriter(trace);
+            try {
+                for (TrafficGenerator.Arrival arrival = generator.next(); arrival.time() <= until;
+                     arrival = generator.next()) {
+                    writer.write(arrival.time(), arrival.request());
+                }
+            } finally {
+                writer.close();
+            }
+            System.out.printf("Записано %d запросов в %s (%d байт)%n", writer.getCount(), trace, Files.size(trace));
+            return;
+        }
+
+        long count = convertEventLog(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("Записано %d запросов в %s%n", count, args[1]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package elevator;
+
+import java.util.Random;
+
+public class TrafficGenerator {
+    private final int floors;
+    private final double arrivalsPerMillis;
+    private final double[] originWeights;
+    private final double[][] destinationWeights;
+    private final double totalWeight;
+    private final Random random;
+    private long time;
+
+    public record Arrival(long time, ElevatorRequest request) {
+    }
+
+    public TrafficGenerator(int floors, TrafficPattern pattern, double arrivalsPerMinute, long seed) {
+        this(floors, pattern.destinationMatrix(floors, 1), arrivalsPerMinute, seed);
+    }
+
+    public TrafficGenerator(int floors, double[][] destinationMatrix, double arrivalsPerMinute, long seed) {
+        if (floors < 2) {
+            throw new IllegalArgumentException("Нужно минимум два этажа");
+        }
+        if (destinationMatrix.length != floors + 1) {
+            throw new IllegalArgumentException("Матрица назначений должна иметь размер " + (floors + 1));
+        }
+
+        this.floors = floors;
+        this.arrivalsPerMillis = arrivalsPerMinute / 60_000.0;
+        this.destinationWeights = destinationMatrix;
+        this.originWeights = new double[floors + 1];
+        this.random = new Random(seed);
+        this.time = 0;
+
+        double total = 0;
+        for (int from = 1; from <= floors; from++) {
+            for (int to = 1; to <= floors; to++) {
+                if (from != to) {
+                    originWeights[from] += destinationMatrix[from][to];
+                }
+            }
+            total += originWeights[from];
+        }
+
+        if (total <= 0) {
+            throw new IllegalArgumentException("Матрица назначений не содержит поездок");
+        }
+        this.totalWeight = total;
+    }
+
+    public Arrival next() {
+        time += Math.max(1, Math.round(-Math.log(1.0 - random.nextDouble()) / arrivalsPerMillis));
+
+        int from = pick(originWeights, random.nextDouble() * totalWeight, -1);
+        int to = pick(destinationWeights[from], random.nextDouble() * originWeights[from], from);
+
+        return new Arrival(time, new ElevatorRequest(from, to));
+    }
+
+    private int pick(double[] weights, double target, int skip) {
+        double accumulated = 0;
+        int last = -1;
+
+        for (int floor = 1; floor <= floors; floor++) {
+            if (floor == skip || weights[floor] <= 0) {
+                continue;
+            }
+            accumulated += weights[floor];
+            last = floor;
+            if (target < accumulated) {
+                return floor;
+            }
+        }
+        return last;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package elevator;
+
+public enum TrafficPattern {
+    UP_PEAK(0.85, 0.05, 0.10),
+    DOWN_PEAK(0.05, 0.85, 0.10),
+    LUNCH(0.45, 0.45, 0.10),
+    INTER_FLOOR(0.0, 0.0, 1.0);
+
+    private final double fromLobby;
+    private final double toLobby;
+    private final double interFloor;
+
+    TrafficPattern(double fromLobby, double toLobby, double interFloor) {
+        this.fromLobby = fromLobby;
+        this.toLobby = toLobby;
+        this.interFloor = interFloor;
+    }
+
+    public double[][] destinationMatrix(int floors, int lobby) {
+        double[][] weights = new double[floors + 1][floors + 1];
+        int upper = floors - 1;
+
+        for (int from = 1; from <= floors; from++) {
+            for (int to = 1; to <= floors; to++) {
+                if (from == to) {
+                    continue;
+                }
+
+                if (this == INTER_FLOOR) {
+                    weights[from][to] = 1.0;
+                } else if (from == lobby) {
+                    weights[from][to] = fromLobby / upper;
+                } else if (to == lobby) {
+                    weights[from][to] = toLobby / upper;
+                } else if (upper > 1) {
+                    weights[from][to] = interFloor / (upper * (upper - 1.0));
+                }
+            }
+        }
+        return weights;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package elevator;
+
+import java.util.PriorityQueue;
+
+public class VirtualTimeScheduler implements Scheduler {
+    private final PriorityQueue<Event> events;
+    private long currentTime;
+    private long sequence;
+
+    private record Event(long time, long sequence, Runnable task) implements Comparable<Event> {
+        @Override
+        public int compareTo(Event other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public VirtualTimeScheduler() {
+        this.events = new PriorityQueue<>();
+        this.currentTime = 0;
+        this.sequence = 0;
+    }
+
+    @Override
+    public synchronized long now() {
+        return currentTime;
+    }
+
+    @Override
+    public synchronized void schedule(long delayMillis, Runnable task) {
+        events.add(new Event(currentTime + Math.max(0, delayMillis), sequence++, task));
+    }
+
+    @Override
+    public void sleep(long millis) {
+        runUntil(now() + millis);
+    }
+
+    public void runUntil(long time) {
+        while (true) {
+            Event event;
+            synchronized (this) {
+                event = events.peek();
+                if (event == null || event.time() > time) {
+                    currentTime = Math.max(currentTime, time);
+                    return;
+                }
+                events.poll();
+                currentTime = event.time();
+            }
+            event.task().run();
+        }
+    }
+
+    public void runUntilIdle() {
+        while (true) {
+            Event event;
+            synchronized (this) {
+                event = events.poll();
+                if (event == null) {
+                    return;
+                }
+                currentTime = event.time();
+            }
+            event.task().run();
+        }
+    }
+
+    public synchronized int getPendingEvents() {
+        return events.size();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        events.clear();
+    }
+}
\ No newline at end of file
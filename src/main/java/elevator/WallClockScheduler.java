@@ -0,0 +1,83 @@
+package elevator;
+
+import java.util.concurrent.*;
+
+public class WallClockScheduler implements Scheduler {
+    private final ScheduledExecutorService executor;
+    private final ExecutorService workers;
+
+    public WallClockScheduler(int threads) {
+        this.executor = Executors.newScheduledThreadPool(threads);
+        this.workers = null;
+    }
+
+    private WallClockScheduler(ScheduledExecutorService executor, ExecutorService workers) {
+        this.executor = executor;
+        this.workers = workers;
+    }
+
+    public static WallClockScheduler pooled() {
+        return new WallClockScheduler(Runtime.getRuntime().availableProcessors());
+    }
+
+    public static WallClockScheduler virtualThreads() {
+        return new WallClockScheduler(Executors.newSingleThreadScheduledExecutor(),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Override
+    public long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    @Override
+    public void schedule(long delayMillis, Runnable task) {
+        try {
+            Runnable guarded = () -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Ошибка в задаче планировщика: " + e);
+                }
+            };
+            executor.schedule(workers == null ? guarded : () -> execute(guarded),
+                    Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // планировщик уже остановлен
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            // планировщик уже остановлен
+        }
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+
+    @Override
+    public void shutdown() {
+        terminate(executor);
+        if (workers != null) {
+            terminate(workers);
+        }
+    }
+
+    private static void terminate(ExecutorService service) {
+        service.shutdown();
+
+        try {
+            if (!service.awaitTermination(3, TimeUnit.SECONDS)) {
+                service.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            service.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package elevator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ElevatorControllerTest {
+    private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    private ElevatorController controller;
+
+    @AfterEach
+    void tearDown() {
+        controller.shutdown();
+    }
+
+    @Test
+    void invalidCallDoesNotReleaseAnotherPendingCall() {
+        controller = new ElevatorController(2, 8, scheduler, EventLog.disabled());
+
+        assertTrue(controller.submitRequest(new ElevatorRequest(5, ElevatorRequest.Direction.DOWN)));
+        assertFalse(controller.submitRequest(new ElevatorRequest(5, (ElevatorRequest.Direction) null)));
+
+        assertTrue(controller.hasPendingHallCall(5, ElevatorRequest.Direction.DOWN));
+        assertTrue(controller.submitRequest(new ElevatorRequest(5, ElevatorRequest.Direction.DOWN)));
+        assertEquals(1, controller.getMetrics().getCoalescedCount());
+        assertEquals(1, controller.getMetrics().getRejectedCount());
+    }
+
+    @Test
+    void rejectedOverflowReleasesItsOwnPendingCall() {
+        controller = new ElevatorController(2, 8, scheduler, EventLog.disabled(), 1);
+        controller.setOverloadPolicy(ElevatorController.OverloadPolicy.REJECT);
+
+        assertTrue(controller.submitRequest(new ElevatorRequest(3, ElevatorRequest.Direction.UP)));
+        assertFalse(controller.submitRequest(new ElevatorRequest(7, ElevatorRequest.Direction.UP)));
+
+        assertTrue(controller.hasPendingHallCall(3, ElevatorRequest.Direction.UP));
+        assertFalse(controller.hasPendingHallCall(7, ElevatorRequest.Direction.UP));
+        assertEquals(0, controller.getMetrics().getCoalescedCount());
+    }
+
+    @Test
+    void delayedOverflowKeepsItsPendingCall() {
+        controller = new ElevatorController(2, 8, scheduler, EventLog.disabled(), 1);
+        controller.setOverloadPolicy(ElevatorController.OverloadPolicy.DELAY_RETRY);
+
+        assertTrue(controller.submitRequest(new ElevatorRequest(3, ElevatorRequest.Direction.UP)));
+        assertTrue(controller.submitRequest(new ElevatorRequest(7, ElevatorRequest.Direction.UP)));
+
+        assertTrue(controller.hasPendingHallCall(7, ElevatorRequest.Direction.UP));
+        assertEquals(0, controller.getMetrics().getRejectedCount());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package elevator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnergyAwareStrategyTest {
+    private static final long DURATION_MILLIS = 20 * 60_000;
+
+    @Test
+    void peakWaitStaysCloseToEta() {
+        SimulationResult eta = simulate(TrafficPattern.UP_PEAK, 60, new EtaStrategy());
+        SimulationResult energy = simulate(TrafficPattern.UP_PEAK, 60, new EnergyAwareStrategy());
+
+        LatencyHistogram etaWait = eta.metrics().getWaitTime();
+        LatencyHistogram energyWait = energy.metrics().getWaitTime();
+        assertTrue(energyWait.getMean() <= etaWait.getMean() * 1.5,
+                "среднее ожидание " + energyWait.getMean() + " против " + etaWait.getMean());
+        assertTrue(energyWait.getPercentile(95) <= etaWait.getPercentile(95) * 1.5,
+                "p95 ожидания " + energyWait.getPercentile(95) + " против " + etaWait.getPercentile(95));
+        assertTrue(energy.metrics().getRequeuedCount() <= eta.metrics().getRequeuedCount(),
+                "повторов " + energy.metrics().getRequeuedCount() + " против " + eta.metrics().getRequeuedCount());
+    }
+
+    @Test
+    void offPeakSavesEnergy() {
+        SimulationResult eta = simulate(TrafficPattern.LUNCH, 10, new EtaStrategy());
+        SimulationResult energy = simulate(TrafficPattern.LUNCH, 10, new EnergyAwareStrategy());
+
+        assertTrue(energyWh(energy) < energyWh(eta) * 0.95,
+                "энергия " + energyWh(energy) + " против " + energyWh(eta));
+    }
+
+    private static SimulationResult simulate(TrafficPattern pattern, double arrivalsPerMinute,
+                                             DispatchStrategy strategy) {
+        return LoadTest.run(new LoadTest.Config(pattern, 4, 8, 15, arrivalsPerMinute, DURATION_MILLIS, 42, strategy));
+    }
+
+    private static double energyWh(SimulationResult result) {
+        double total = 0;
+        for (Elevator.TravelStats travel : result.travel()) {
+            total += travel.energyWh();
+        }
+        return total;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package elevator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EtaStrategyTest {
+    private final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    private final FloorSet priorityFloors = new FloorSet();
+
+    @Test
+    void assignmentWithoutNewTargetUpdatesPredictedLoad() {
+        Elevator car = new Elevator(1, 1, scheduler, EventLog.disabled(), new ElevatorMetrics());
+        EtaStrategy strategy = new EtaStrategy();
+        ElevatorRequest probe = new ElevatorRequest(9, 10);
+        ElevatorRequest boarding = new ElevatorRequest(3, 8);
+
+        car.addHallCall(3, ElevatorRequest.Direction.UP, false);
+        car.addTargetFloor(5, false);
+        int empty = strategy.score(car, car.getSnapshot(), probe, priorityFloors);
+
+        car.assignRequest(boarding, false);
+        int loaded = strategy.score(car, car.getSnapshot(), probe, priorityFloors);
+
+        assertEquals(empty + EtaStrategy.FULL_CAR_PENALTY_MILLIS, loaded);
+    }
+
+    @Test
+    void cachedPlanMatchesFreshPlanAfterTargetChanges() {
+        Elevator car = new Elevator(1, 8, scheduler, EventLog.disabled(), new ElevatorMetrics());
+        EtaStrategy cached = new EtaStrategy();
+        ElevatorRequest probe = new ElevatorRequest(12, ElevatorRequest.Direction.DOWN);
+
+        car.addTargetFloor(6, false);
+        cached.score(car, car.getSnapshot(), probe, priorityFloors);
+        car.addTargetFloor(15, false);
+
+        assertEquals(new EtaStrategy().score(car, car.getSnapshot(), probe, priorityFloors),
+                cached.score(car, car.getSnapshot(), probe, priorityFloors));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package elevator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogTest {
+    private static final ElevatorEvent.Type TYPE = ElevatorEvent.Type.FLOOR_PASSED;
+
+    @Test
+    void deliversEventsInPublishOrder() {
+        InMemoryEventSink sink = new InMemoryEventSink();
+        EventLog log = new EventLog(new VirtualTimeScheduler(), 1024, sink);
+
+        for (int i = 0; i < 1000; i++) {
+            log.publishNotice(TYPE, 1, i);
+        }
+        log.flush();
+
+        List<ElevatorEvent> events = sink.getEvents();
+        assertEquals(1000, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).floor());
+        }
+        assertEquals(1000, log.getPublishedCount());
+        log.close();
+    }
+
+    @Test
+    void dropsEventsWhenRingIsFull() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryEventSink received = new InMemoryEventSink();
+        EventSink blocking = event -> {
+            received.accept(event);
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        EventLog log = new EventLog(new VirtualTimeScheduler(), 4, blocking);
+
+        log.publishNotice(TYPE, 1, 0);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) {
+            log.publishNotice(TYPE, 1, i);
+        }
+        assertEquals(5, log.getDroppedCount());
+        assertEquals(5, log.getPublishedCount());
+
+        release.countDown();
+        log.close();
+
+        List<ElevatorEvent> events = received.getEvents();
+        assertEquals(5, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(i, events.get(i).floor());
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasNotCountedAsDropped() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        InMemoryEventSink sink = new InMemoryEventSink();
+        EventLog log = new EventLog(new VirtualTimeScheduler(), 256, sink);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            Future<?>[] futures = new Future<?>[producers];
+            for (int p = 0; p < producers; p++) {
+                int id = p + 1;
+                futures[p] = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        log.publishNotice(TYPE, id, i);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        log.flush();
+
+        List<ElevatorEvent> events = sink.getEvents();
+        assertEquals(producers * perProducer, events.size() + log.getDroppedCount());
+        assertEquals(events.size(), log.getPublishedCount());
+
+        int[] last = new int[producers + 1];
+        Arrays.fill(last, -1);
+        for (ElevatorEvent event : events) {
+            assertTrue(event.floor() > last[event.elevatorId()], "порядок событий одного производителя");
+            last[event.elevatorId()] = event.floor();
+        }
+        log.close();
+    }
+
+    @Test
+    void closeDrainsPendingEventsAndClosesSinks() {
+        CountDownLatch closed = new CountDownLatch(1);
+        InMemoryEventSink received = new InMemoryEventSink();
+        EventSink sink = new EventSink() {
+            @Override
+            public void accept(ElevatorEvent event) {
+                received.accept(event);
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        };
+        EventLog log = new EventLog(new VirtualTimeScheduler(), 1024, sink);
+
+        for (int i = 0; i < 500; i++) {
+            log.publishNotice(TYPE, 1, i);
+        }
+        log.close();
+
+        assertEquals(500, received.getEvents().size());
+        assertEquals(0, closed.getCount());
+    }
+
+    @Test
+    void disabledLogAcceptsEverythingWithoutPublishing() {
+        EventLog log = EventLog.disabled();
+
+        assertFalse(log.isEnabled());
+        assertTrue(log.publishRequest(ElevatorEvent.Type.REQUEST_RECEIVED, -1, new ElevatorRequest(1, 5)));
+        log.publishNotice(TYPE, 1, 3);
+        assertEquals(0, log.getPublishedCount());
+        log.close();
+    }
+
+    @Test
+    void journalIsNotAcceptedAsAsyncSink(@TempDir Path directory) throws IOException {
+        JournalEventSink journal = new JournalEventSink(directory);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new EventLog(new VirtualTimeScheduler(), journal));
+        } finally {
+            journal.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package elevator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloorSetTest {
+    @Test
+    void capacityRoundsUpToWholeWords() {
+        assertEquals(64, new FloorSet(1).getCapacity());
+        assertEquals(128, new FloorSet(65).getCapacity());
+        assertEquals(FloorSet.DEFAULT_CAPACITY, new FloorSet().getCapacity());
+    }
+
+    @Test
+    void addAndRemoveAcrossWordBoundaries() {
+        FloorSet floors = new FloorSet();
+        int[] edges = {0, 63, 64, 127, 128, 191, 192, 255};
+
+        for (int floor : edges) {
+            assertTrue(floors.add(floor), "add " + floor);
+            assertFalse(floors.add(floor), "repeat add " + floor);
+        }
+        assertEquals(edges.length, floors.size());
+        for (int floor : edges) {
+            assertTrue(floors.contains(floor));
+        }
+        for (int floor : new int[]{1, 62, 65, 126, 129, 190, 193, 254}) {
+            assertFalse(floors.contains(floor), "contains " + floor);
+        }
+
+        assertTrue(floors.remove(64));
+        assertFalse(floors.remove(64));
+        assertFalse(floors.contains(64));
+        assertTrue(floors.contains(63));
+        assertTrue(floors.contains(127));
+        assertEquals(edges.length - 1, floors.size());
+    }
+
+    @Test
+    void outOfRangeFloors() {
+        FloorSet floors = new FloorSet();
+
+        assertThrows(IllegalArgumentException.class, () -> floors.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> floors.add(256));
+        assertFalse(floors.remove(-1));
+        assertFalse(floors.remove(256));
+        assertFalse(floors.contains(256));
+        assertTrue(floors.isEmpty());
+    }
+
+    @Test
+    void ceilingAndFloorSkipEmptyWords() {
+        FloorSet floors = new FloorSet();
+        floors.add(5);
+        floors.add(200);
+
+        assertEquals(5, floors.ceiling(0));
+        assertEquals(5, floors.ceiling(5));
+        assertEquals(200, floors.ceiling(6));
+        assertEquals(-1, floors.ceiling(201));
+        assertEquals(-1, floors.ceiling(1000));
+        assertEquals(200, floors.floor(255));
+        assertEquals(200, floors.floor(Integer.MAX_VALUE));
+        assertEquals(5, floors.floor(199));
+        assertEquals(-1, floors.floor(4));
+        assertEquals(-1, floors.floor(-1));
+        assertEquals(5, floors.first());
+        assertEquals(200, floors.last());
+    }
+
+    @Test
+    void iteratorVisitsFloorsInOrderAndRemoves() {
+        FloorSet floors = new FloorSet();
+        for (int floor : List.of(130, 3, 64, 63)) {
+            floors.add(floor);
+        }
+
+        assertEquals(List.of(3, 63, 64, 130), List.copyOf(floors));
+        floors.removeIf(floor -> floor >= 64);
+        assertEquals(List.of(3, 63), List.copyOf(floors));
+    }
+
+    @Test
+    void concurrentAddsInOneWordAreNotLost() throws Exception {
+        FloorSet floors = new FloorSet();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger added = new AtomicInteger();
+
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int floor = offset; floor < FloorSet.DEFAULT_CAPACITY; floor += threads) {
+                        if (floors.add(floor)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                    for (int floor = 0; floor < FloorSet.DEFAULT_CAPACITY; floor++) {
+                        if (floors.add(floor)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(FloorSet.DEFAULT_CAPACITY, added.get());
+        assertEquals(FloorSet.DEFAULT_CAPACITY, floors.size());
+    }
+
+    @Test
+    void concurrentRemovesClaimEachFloorOnce() throws Exception {
+        FloorSet floors = new FloorSet();
+        for (int floor = 0; floor < FloorSet.DEFAULT_CAPACITY; floor++) {
+            floors.add(floor);
+        }
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger removed = new AtomicInteger();
+
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = pool.submit(() -> {
+                    start.await();
+                    for (int floor = 0; floor < FloorSet.DEFAULT_CAPACITY; floor++) {
+                        if (floors.remove(floor)) {
+                            removed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(FloorSet.DEFAULT_CAPACITY, removed.get());
+        assertTrue(floors.isEmpty());
+        assertEquals(-1, floors.first());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,366 @@
+package elevator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestServerTest {
+    private static final int CARS = 3;
+
+    private WallClockScheduler scheduler;
+    private ElevatorController controller;
+    private IngestServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scheduler = new WallClockScheduler(2);
+        controller = new ElevatorController(CARS, 8, scheduler, EventLog.disabled());
+        server = new IngestServer(controller, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        controller.shutdown();
+    }
+
+    @Test
+    void jsonLineSplitAcrossWrites() throws IOException {
+        try (Client client = connect()) {
+            client.write("{\"floor\":3,");
+            client.pause();
+            client.write("\"direction\":\"up\"}");
+            client.pause();
+            client.write("\n{\"from\":1,\"to\":8}\n");
+
+            assertEquals("{\"accepted\":1,\"rejected\":0}", client.readLine());
+            assertEquals("{\"accepted\":1,\"rejected\":0}", client.readLine());
+        }
+        assertEquals(2, server.getAcceptedCount());
+    }
+
+    @Test
+    void binaryFramesSplitAcrossWrites() throws IOException {
+        byte[] stream = concat(magic(), frame(IngestServer.CALLS, hall(TraceWriter.HALL_UP, 3)),
+                frame(IngestServer.CALLS, complete(1, 8), complete(2, 9)));
+
+        try (Client client = connect()) {
+            for (byte b : stream) {
+                client.write(new byte[]{b});
+            }
+            assertArrayEquals(new int[]{1, 0}, client.readAck());
+            assertArrayEquals(new int[]{2, 0}, client.readAck());
+        }
+    }
+
+    @Test
+    void severalFramesInOneWrite() throws IOException {
+        try (Client client = connect()) {
+            client.write(concat(magic(), frame(IngestServer.CALLS, complete(1, 5)),
+                    frame(IngestServer.CALLS, complete(2, 6)), frame(IngestServer.CALLS, complete(3, 7))));
+            for (int i = 0; i < 3; i++) {
+                assertArrayEquals(new int[]{1, 0}, client.readAck());
+            }
+        }
+    }
+
+    @Test
+    void oversizedBinaryFrameClosesConnection() throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        header.write(magic(), 0, 4);
+        putVarInt(header, 1 << 17);
+        header.write(IngestServer.CALLS);
+
+        try (Client client = connect()) {
+            client.write(header.toByteArray());
+            assertTrue(client.isClosed());
+        }
+    }
+
+    @Test
+    void emptyFrameAndUnknownTypeCloseConnection() throws IOException {
+        try (Client client = connect()) {
+            client.write(concat(magic(), new byte[]{0}));
+            assertTrue(client.isClosed());
+        }
+        try (Client client = connect()) {
+            client.write(concat(magic(), frame(0x7F)));
+            assertTrue(client.isClosed());
+        }
+    }
+
+    @Test
+    void badMagicClosesConnection() throws IOException {
+        try (Client client = connect()) {
+            client.write(new byte[]{'X', 'Y', 'Z', 'W', 1, 2});
+            assertTrue(client.isClosed());
+        }
+    }
+
+    @Test
+    void oversizedJsonLineClosesConnection() throws IOException {
+        byte[] line = new byte[1 << 17];
+        line[0] = '{';
+        for (int i = 1; i < line.length; i++) {
+            line[i] = 'a';
+        }
+
+        try (Client client = connect()) {
+            try {
+                client.write(line);
+            } catch (SocketException e) {
+                // сервер мог закрыть соединение до конца записи
+            }
+            assertTrue(client.isClosed());
+        }
+    }
+
+    @Test
+    void malformedJsonIsRejectedAndConnectionStaysOpen() throws IOException {
+        String[] malformed = {
+                "{garbage",
+                "{\"floor\":3}",
+                "{\"floor\":\"3\",\"direction\":\"up\"}",
+                "{\"floor\":3,\"direction\":\"sideways\"}",
+                "{\"floor\":-3,\"direction\":\"up\"}",
+                "{\"floor\":3,\"direction\":\"up\",\"speed\":2}",
+                "{\"floor\":3 \"direction\":\"up\"}",
+                "[{\"from\":1,\"to\":8}",
+                "{}",
+                "{\"from\":1,\"to\":8} trailing"
+        };
+
+        try (Client client = connect()) {
+            for (String line : malformed) {
+                client.write(line + "\n");
+                assertEquals("{\"accepted\":0,\"rejected\":1}", client.readLine(), line);
+            }
+            client.write("{\"floor\":3,\"direction\":\"DOWN\"}\n");
+            assertEquals("{\"accepted\":1,\"rejected\":0}", client.readLine());
+        }
+    }
+
+    @Test
+    void outOfRangeFloorsAreRejected() throws IOException {
+        try (Client client = connect()) {
+            client.write("{\"from\":1,\"to\":256}\n");
+            assertEquals("{\"accepted\":0,\"rejected\":1}", client.readLine());
+            client.write("{\"floor\":999999,\"direction\":\"up\"}\n");
+            assertEquals("{\"accepted\":0,\"rejected\":1}", client.readLine());
+            client.write("{\"floor\":9999999,\"direction\":\"up\"}\n");
+            assertEquals("{\"accepted\":0,\"rejected\":1}", client.readLine());
+        }
+        try (Client client = connect()) {
+            client.write(concat(magic(), frame(IngestServer.CALLS, complete(1, 300)),
+                    frame(IngestServer.CALLS, hall(TraceWriter.HALL_DOWN, 256))));
+            assertArrayEquals(new int[]{0, 1}, client.readAck());
+            assertArrayEquals(new int[]{0, 1}, client.readAck());
+        }
+        assertEquals(0, server.getAcceptedCount());
+        assertEquals(0, controller.getQueueSize());
+    }
+
+    @Test
+    void mixedJsonBatchCountsEachCall() throws IOException {
+        try (Client client = connect()) {
+            client.write("[{\"from\":1,\"to\":8}, {\"from\":2,\"to\":2}, {\"from\":1,\"to\":500},"
+                    + " {\"floor\":4,\"direction\":\"down\"}, {\"to\":5,\"car\":1}, {\"to\":5,\"car\":99}]\n");
+            assertEquals("{\"accepted\":3,\"rejected\":3}", client.readLine());
+        }
+        assertEquals(3, server.getAcceptedCount());
+        assertEquals(3, server.getRejectedCount());
+    }
+
+    @Test
+    void mixedBinaryBatchCountsEachCall() throws IOException {
+        try (Client client = connect()) {
+            client.write(concat(magic(), frame(IngestServer.CALLS, complete(1, 8), complete(4, 4),
+                    hall(TraceWriter.HALL_UP, 2), complete(0, 1000), carCall(6, 2), carCall(6, 50))));
+            assertArrayEquals(new int[]{3, 3}, client.readAck());
+        }
+    }
+
+    @Test
+    void truncatedCallInsideFrameClosesConnection() throws IOException {
+        try (Client client = connect()) {
+            client.write(concat(magic(), frame(IngestServer.CALLS, new byte[]{TraceWriter.COMPLETE, 1})));
+            assertTrue(client.isClosed());
+        }
+    }
+
+    @Test
+    void subscriberReceivesEveryCarAndLaterChanges() throws IOException {
+        try (Client client = connect()) {
+            client.write("{\"subscribe\":true}\n");
+            assertEquals("{\"accepted\":0,\"rejected\":0}", client.readLine());
+
+            Set<String> cars = new HashSet<>();
+            while (cars.size() < CARS) {
+                String state = client.readLine();
+                assertTrue(state.startsWith("{\"car\":"), state);
+                cars.add(state.substring(0, state.indexOf(',')));
+            }
+
+            client.write("{\"from\":1,\"to\":5}\n");
+            String line;
+            do {
+                line = client.readLine();
+            } while (!line.contains("\"targets\":1") && !line.contains("\"status\":\"MOVING\""));
+        }
+    }
+
+    private Client connect() throws IOException {
+        return new Client(new Socket(InetAddress.getLoopbackAddress(), server.getAddress().getPort()));
+    }
+
+    private static byte[] magic() {
+        return new byte[]{
+                (byte) (IngestServer.MAGIC >>> 24), (byte) (IngestServer.MAGIC >>> 16),
+                (byte) (IngestServer.MAGIC >>> 8), (byte) IngestServer.MAGIC
+        };
+    }
+
+    private static byte[] frame(int type, byte[]... calls) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(type);
+        for (byte[] call : calls) {
+            body.write(call, 0, call.length);
+        }
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        putVarInt(frame, body.size());
+        frame.write(body.toByteArray(), 0, body.size());
+        return frame.toByteArray();
+    }
+
+    private static byte[] hall(int kind, int floor) {
+        return record(kind, floor);
+    }
+
+    private static byte[] complete(int from, int to) {
+        return record(TraceWriter.COMPLETE, from, to);
+    }
+
+    private static byte[] carCall(int floor, int car) {
+        return record(TraceWriter.CAR_CALL, floor, car);
+    }
+
+    private static byte[] record(int kind, int... values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(kind);
+        for (int value : values) {
+            putVarInt(out, value);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+
+    private static void putVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static final class Client implements Closeable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final DataInputStream in;
+
+        private Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.socket.setSoTimeout(5_000);
+            this.socket.setTcpNoDelay(true);
+            this.out = socket.getOutputStream();
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        }
+
+        private void write(String text) throws IOException {
+            write(text.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            out.flush();
+        }
+
+        private void pause() {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            for (int b = in.read(); b != '\n'; b = in.read()) {
+                if (b == -1) {
+                    throw new EOFException("Соединение закрыто после: " + line);
+                }
+                line.append((char) b);
+            }
+            return line.toString();
+        }
+
+        private int[] readAck() throws IOException {
+            int length = in.readUnsignedByte();
+            assertEquals(IngestServer.ACK, in.readUnsignedByte());
+            int[] counts = {readVarInt(), readVarInt()};
+            assertEquals(length, 1 + varIntSize(counts[0]) + varIntSize(counts[1]));
+            return counts;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if (b < 0x80) {
+                    return value;
+                }
+            }
+        }
+
+        private static int varIntSize(int value) {
+            int size = 1;
+            while ((value & ~0x7F) != 0) {
+                value >>>= 7;
+                size++;
+            }
+            return size;
+        }
+
+        private boolean isClosed() throws IOException {
+            try {
+                return in.read() == -1;
+            } catch (SocketException e) {
+                return true;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,171 @@
+package elevator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalEventSinkTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversPendingRequestsFromJournal() throws IOException {
+        ElevatorRequest hall = new ElevatorRequest(5, ElevatorRequest.Direction.DOWN);
+        ElevatorRequest complete = new ElevatorRequest(2, 9);
+        ElevatorRequest done = new ElevatorRequest(3, 7);
+
+        JournalEventSink journal = new JournalEventSink(directory);
+        journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1, hall));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1, complete));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_ASSIGNED, 2, -1, complete));
+        journal.accept(request(ElevatorEvent.Type.PASSENGER_BOARDED, 2, 2, complete));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1, done));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_COMPLETED, 1, 7, done));
+        journal.accept(motion(2, 4));
+        journal.close();
+
+        JournalEventSink.Recovery recovery = reopen(JournalEventSink.DEFAULT_SNAPSHOT_INTERVAL);
+        assertEquals(Map.of(2, 4), recovery.carFloors());
+        List<JournalEventSink.PendingRequest> requests = recovery.requests();
+        assertEquals(2, requests.size());
+        assertHallCall(requests.get(0), 5, ElevatorRequest.Direction.DOWN);
+        assertEquals(2, requests.get(1).request().getCallFloor());
+        assertEquals(9, requests.get(1).request().getDestinationFloor());
+        assertEquals(2, requests.get(1).elevatorId());
+        assertTrue(requests.get(1).onBoard());
+    }
+
+    @Test
+    void truncatedTailIsIgnored() throws IOException {
+        JournalEventSink journal = new JournalEventSink(directory);
+        for (int floor = 1; floor <= 3; floor++) {
+            journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1,
+                    new ElevatorRequest(floor, ElevatorRequest.Direction.UP)));
+        }
+        journal.close();
+
+        Path journalPath = directory.resolve("journal.bin");
+        long size = Files.size(journalPath);
+        assertEquals(JournalEventSink.HEADER_SIZE + 3 * JournalEventSink.RECORD_SIZE, size);
+        try (FileChannel file = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            file.truncate(size - JournalEventSink.RECORD_SIZE / 2);
+        }
+
+        List<JournalEventSink.PendingRequest> requests = reopen(JournalEventSink.DEFAULT_SNAPSHOT_INTERVAL).requests();
+        assertEquals(2, requests.size());
+        assertHallCall(requests.get(0), 1, ElevatorRequest.Direction.UP);
+        assertHallCall(requests.get(1), 2, ElevatorRequest.Direction.UP);
+    }
+
+    @Test
+    void invalidDirectionIsTreatedAsTornTail() throws IOException {
+        JournalEventSink journal = new JournalEventSink(directory);
+        for (int floor = 1; floor <= 3; floor++) {
+            journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1,
+                    new ElevatorRequest(floor, ElevatorRequest.Direction.DOWN)));
+        }
+        journal.close();
+
+        try (FileChannel file = FileChannel.open(directory.resolve("journal.bin"), StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.wrap(new byte[]{0}), JournalEventSink.HEADER_SIZE + JournalEventSink.RECORD_SIZE + 1);
+        }
+
+        List<JournalEventSink.PendingRequest> requests = reopen(JournalEventSink.DEFAULT_SNAPSHOT_INTERVAL).requests();
+        assertEquals(1, requests.size());
+        assertHallCall(requests.get(0), 1, ElevatorRequest.Direction.DOWN);
+    }
+
+    @Test
+    void recoversFromSnapshotAndJournalAfterIt() throws IOException {
+        ElevatorRequest first = new ElevatorRequest(4, 12);
+        ElevatorRequest second = new ElevatorRequest(8, ElevatorRequest.Direction.UP);
+        ElevatorRequest third = new ElevatorRequest(6, 1);
+
+        JournalEventSink journal = new JournalEventSink(directory, 3);
+        journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1, first));
+        journal.accept(request(ElevatorEvent.Type.PASSENGER_BOARDED, 3, 4, first));
+        journal.accept(motion(3, 5));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1, second));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_RECEIVED, -1, -1, third));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_REJECTED, -1, -1, third));
+        journal.accept(request(ElevatorEvent.Type.REQUEST_ASSIGNED, 1, -1, second));
+        journal.close();
+
+        assertTrue(Files.exists(directory.resolve("snapshot.bin")));
+        assertEquals(JournalEventSink.HEADER_SIZE + JournalEventSink.RECORD_SIZE,
+                Files.size(directory.resolve("journal.bin")));
+
+        JournalEventSink.Recovery recovery = reopen(3);
+        assertEquals(Map.of(3, 5), recovery.carFloors());
+        List<JournalEventSink.PendingRequest> requests = recovery.requests();
+        assertEquals(2, requests.size());
+        assertEquals(4, requests.get(0).request().getCallFloor());
+        assertEquals(12, requests.get(0).request().getDestinationFloor());
+        assertEquals(3, requests.get(0).elevatorId());
+        assertTrue(requests.get(0).onBoard());
+        assertHallCall(requests.get(1), 8, ElevatorRequest.Direction.UP);
+        assertEquals(1, requests.get(1).elevatorId());
+
+        JournalEventSink.Recovery again = reopen(3);
+        assertEquals(recovery.carFloors(), again.carFloors());
+        assertEquals(2, again.requests().size());
+        assertTrue(again.requests().get(0).onBoard());
+        assertHallCall(again.requests().get(1), 8, ElevatorRequest.Direction.UP);
+    }
+
+    @Test
+    void transferPlanIsRecoveredBeforeFirstLegIsReceived() throws IOException {
+        JournalEventSink journal = new JournalEventSink(directory);
+        journal.accept(request(ElevatorEvent.Type.TRANSFER_PLANNED, -1, 40, new ElevatorRequest(2, 20)));
+        journal.close();
+
+        List<JournalEventSink.PendingRequest> requests = reopen(JournalEventSink.DEFAULT_SNAPSHOT_INTERVAL).requests();
+        assertEquals(1, requests.size());
+        assertEquals(20, requests.get(0).request().getDestinationFloor());
+        assertEquals(40, requests.get(0).transferDestination());
+    }
+
+    @Test
+    void flushWritesBufferedRecords() throws IOException {
+        JournalEventSink journal = new JournalEventSink(directory);
+        try {
+            journal.accept(motion(1, 3));
+            journal.flush();
+            assertEquals(JournalEventSink.HEADER_SIZE + JournalEventSink.RECORD_SIZE,
+                    Files.size(directory.resolve("journal.bin")));
+        } finally {
+            journal.close();
+        }
+    }
+
+    private JournalEventSink.Recovery reopen(int snapshotInterval) throws IOException {
+        JournalEventSink journal = new JournalEventSink(directory, snapshotInterval);
+        journal.close();
+        return journal.getRecovery();
+    }
+
+    private static ElevatorEvent request(ElevatorEvent.Type type, int elevatorId, int floor, ElevatorRequest request) {
+        return new ElevatorEvent(type, 0, elevatorId, floor, request, null);
+    }
+
+    private static ElevatorEvent motion(int elevatorId, int floor) {
+        return new ElevatorEvent(ElevatorEvent.Type.ARRIVED, 0, elevatorId, floor, null, null);
+    }
+
+    private static void assertHallCall(JournalEventSink.PendingRequest pending, int floor,
+                                       ElevatorRequest.Direction direction) {
+        assertEquals(floor, pending.request().getCallFloor());
+        assertEquals(-1, pending.request().getDestinationFloor());
+        assertEquals(direction, pending.request().getDirection());
+    }
+}
\ No newline at end of file
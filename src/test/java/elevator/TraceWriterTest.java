@@ -0,0 +1,136 @@
+package elevator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceWriterTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsEveryRecordKind() throws IOException {
+        Path trace = directory.resolve("trace.bin");
+        List<TrafficGenerator.Arrival> written = List.of(
+                new TrafficGenerator.Arrival(0, new ElevatorRequest(1, ElevatorRequest.Direction.UP)),
+                new TrafficGenerator.Arrival(1_500, new ElevatorRequest(12, ElevatorRequest.Direction.DOWN)),
+                new TrafficGenerator.Arrival(1_500, new ElevatorRequest(7)),
+                new TrafficGenerator.Arrival(1_200, new ElevatorRequest(3, 200)),
+                new TrafficGenerator.Arrival(86_400_000L * 365, new ElevatorRequest(255, 0)));
+
+        TraceWriter writer = new TraceWriter(trace);
+        for (TrafficGenerator.Arrival arrival : written) {
+            writer.write(arrival.time(), arrival.request());
+        }
+        assertEquals(written.size(), writer.getCount());
+        writer.close();
+
+        assertArrivals(written, readAll(trace));
+    }
+
+    @Test
+    void roundTripsAcrossBufferBoundaries() throws IOException {
+        Path trace = directory.resolve("trace.bin");
+        Random random = new Random(42);
+        List<TrafficGenerator.Arrival> written = new ArrayList<>();
+        long time = 0;
+        for (int i = 0; i < 50_000; i++) {
+            time += random.nextInt(100_000);
+            int floor = random.nextInt(FloorSet.DEFAULT_CAPACITY);
+            ElevatorRequest request;
+            switch (i % 4) {
+                case 0:
+                    request = new ElevatorRequest(floor, ElevatorRequest.Direction.UP);
+                    break;
+                case 1:
+                    request = new ElevatorRequest(floor, ElevatorRequest.Direction.DOWN);
+                    break;
+                case 2:
+                    request = new ElevatorRequest(floor);
+                    break;
+                default:
+                    request = new ElevatorRequest(floor, (floor + 1 + random.nextInt(50)) % FloorSet.DEFAULT_CAPACITY);
+                    break;
+            }
+            written.add(new TrafficGenerator.Arrival(time, request));
+        }
+
+        TraceWriter writer = new TraceWriter(trace);
+        for (TrafficGenerator.Arrival arrival : written) {
+            writer.write(arrival.time(), arrival.request());
+        }
+        writer.close();
+
+        assertTrue(Files.size(trace) > (1 << 16), "трасса больше буфера");
+        assertArrivals(written, readAll(trace));
+    }
+
+    @Test
+    void acceptRecordsOnlyReceivedRequests() throws IOException {
+        Path trace = directory.resolve("trace.bin");
+        ElevatorRequest request = new ElevatorRequest(4, 9);
+
+        TraceWriter writer = new TraceWriter(trace);
+        writer.accept(new ElevatorEvent(ElevatorEvent.Type.REQUEST_RECEIVED, 250, -1, -1, request, null));
+        writer.accept(new ElevatorEvent(ElevatorEvent.Type.REQUEST_ASSIGNED, 300, 1, -1, request, null));
+        writer.accept(new ElevatorEvent(ElevatorEvent.Type.ARRIVED, 900, 1, 4, null, null));
+        writer.close();
+
+        assertArrivals(List.of(new TrafficGenerator.Arrival(250, request)), readAll(trace));
+    }
+
+    @Test
+    void rejectsForeignAndTruncatedFiles() throws IOException {
+        Path foreign = directory.resolve("foreign.bin");
+        Files.write(foreign, new byte[]{1, 2, 3, 4, 5, 6});
+        assertThrows(IOException.class, () -> new TraceReader(foreign));
+
+        Path trace = directory.resolve("trace.bin");
+        TraceWriter writer = new TraceWriter(trace);
+        writer.write(10, new ElevatorRequest(3, ElevatorRequest.Direction.UP));
+        writer.write(20, new ElevatorRequest(5, 200));
+        writer.close();
+        try (FileChannel file = FileChannel.open(trace, StandardOpenOption.WRITE)) {
+            file.truncate(Files.size(trace) - 1);
+        }
+
+        try (TraceReader reader = new TraceReader(trace)) {
+            assertNotNull(reader.next());
+            assertThrows(IllegalStateException.class, reader::next);
+        }
+    }
+
+    private static void assertArrivals(List<TrafficGenerator.Arrival> expected, List<TrafficGenerator.Arrival> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            ElevatorRequest want = expected.get(i).request();
+            ElevatorRequest got = actual.get(i).request();
+            assertEquals(expected.get(i).time(), actual.get(i).time(), "время записи " + i);
+            assertEquals(want.getCallFloor(), got.getCallFloor(), "этаж вызова в записи " + i);
+            assertEquals(want.getDestinationFloor(), got.getDestinationFloor(), "этаж назначения в записи " + i);
+            assertEquals(want.getDirection(), got.getDirection(), "направление в записи " + i);
+        }
+    }
+
+    private static List<TrafficGenerator.Arrival> readAll(Path trace) throws IOException {
+        List<TrafficGenerator.Arrival> arrivals = new ArrayList<>();
+        try (TraceReader reader = new TraceReader(trace)) {
+            TrafficGenerator.Arrival arrival;
+            while ((arrival = reader.next()) != null) {
+                arrivals.add(arrival);
+            }
+            assertNull(reader.next());
+        }
+        return arrivals;
+    }
+}
\ No newline at end of file